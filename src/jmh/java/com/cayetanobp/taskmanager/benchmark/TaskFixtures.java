@@ -0,0 +1,72 @@
+package com.cayetanobp.taskmanager.benchmark;
+
+import com.cayetanobp.taskmanager.TaskManagerApplication;
+import com.cayetanobp.taskmanager.dto.BatchUpdateTaskRequest;
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.Task;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.service.TaskService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class TaskFixtures {
+
+    private static final String DESCRIPTION = "x".repeat(200);
+    private static final int SEED_BATCH = 1000;
+
+    private TaskFixtures() {
+    }
+
+    static Task task(Long id, TaskStatus status, Priority priority) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Tarea " + id);
+        task.setDescription(DESCRIPTION);
+        task.setStatus(status);
+        task.setPriority(priority);
+        return task;
+    }
+
+    static List<TaskResponse> responses(int rows) {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 10, 0);
+        List<TaskResponse> responses = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            responses.add(new TaskResponse((long) i, "Tarea " + i, DESCRIPTION,
+                    TaskStatus.values()[i % 3], Priority.values()[i % 3],
+                    now.plusSeconds(i), now.plusSeconds(i), 0L));
+        }
+        return responses;
+    }
+
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:" + database)
+                .run();
+    }
+
+    static List<Long> seed(TaskService service, int rows) {
+        List<Long> ids = new ArrayList<>(rows);
+        for (int from = 0; from < rows; from += SEED_BATCH) {
+            List<CreateTaskRequest> requests = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(from + SEED_BATCH, rows); i++) {
+                requests.add(new CreateTaskRequest("Tarea " + i, DESCRIPTION, Priority.values()[i % 3]));
+            }
+            List<BatchUpdateTaskRequest.Item> statuses = new ArrayList<>(SEED_BATCH);
+            for (TaskResponse created : service.createAll(requests)) {
+                ids.add(created.id());
+                statuses.add(new BatchUpdateTaskRequest.Item(created.id(), null, null,
+                        TaskStatus.values()[(int) (created.id() % 3)], null));
+            }
+            service.updateAll(statuses);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,30 @@
+package com.cayetanobp.taskmanager.benchmark;
+
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.Task;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskResponseMappingBenchmark {
+
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        task = TaskFixtures.task(42L, TaskStatus.IN_PROGRESS, Priority.HIGH);
+    }
+
+    @Benchmark
+    public TaskResponse from() {
+        return TaskResponse.from(task);
+    }
+}
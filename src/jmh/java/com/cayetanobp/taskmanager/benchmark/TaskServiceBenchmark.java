@@ -0,0 +1,50 @@
+package com.cayetanobp.taskmanager.benchmark;
+
+import com.cayetanobp.taskmanager.dto.TaskPage;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"NONE", "STATUS", "PRIORITY", "STATUS_PRIORITY"})
+    public String filter;
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService service;
+    private TaskStatus status;
+    private Priority priority;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = TaskFixtures.start("bench-find-" + filter);
+        service = context.getBean(TaskService.class);
+        TaskFixtures.seed(service, rows);
+
+        status = filter.startsWith("STATUS") ? TaskStatus.PENDING : null;
+        priority = filter.endsWith("PRIORITY") ? Priority.HIGH : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskPage findAll() {
+        return service.findAll(status, priority, null, 1000);
+    }
+}
@@ -0,0 +1,50 @@
+package com.cayetanobp.taskmanager.benchmark;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.UpdateTaskRequest;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskWriteBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private TaskService service;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = TaskFixtures.start("bench-write");
+        service = context.getBean(TaskService.class);
+        ids = TaskFixtures.seed(service, 10_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponse create() {
+        return service.create(new CreateTaskRequest("Nueva", "Benchmark", Priority.LOW));
+    }
+
+    @Benchmark
+    public TaskResponse update() {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return service.update(id, new UpdateTaskRequest("Actualizada", null, TaskStatus.IN_PROGRESS, null));
+    }
+}
@@ -0,0 +1,131 @@
+package com.cayetanobp.taskmanager.archive;
+
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Mueve a {@code tasks_archive} las tareas {@code DONE} sin cambios desde hace más de
+ * {@code task.archive.age}. Trabaja en lotes pequeños, cada uno en su propia transacción y con
+ * una pausa entre lotes, para no competir con el tráfico normal; las filas se bloquean con
+ * {@code SKIP LOCKED}, así que varias instancias pueden archivar a la vez. En PostgreSQL el lote se lee
+ * con el índice parcial {@code idx_tasks_done_updated_at_id}, sin recorrer las tareas abiertas.
+ *
+ * <p>Una tarea archivada deja de aparecer en los listados, la búsqueda, las estadísticas, la
+ * exportación y {@code /changes} (que no la marca como borrada); solo {@code GET /api/tasks/{id}}
+ * la sigue sirviendo desde el archivo.
+ */
+@Component
+@ConditionalOnProperty(name = "task.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiver.class);
+
+    private static final String SELECT_BATCH = """
+            SELECT id FROM tasks
+            WHERE updated_at < ? AND status = 'DONE'
+            ORDER BY updated_at, id
+            FETCH FIRST ? ROWS ONLY
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String COPY_TO_ARCHIVE = """
+            INSERT INTO tasks_archive
+                (id, title, description, status, priority, created_at, updated_at, version, archived_at)
+            SELECT id, title, description, status, priority, created_at, updated_at, version, ?
+            FROM tasks WHERE id IN (%s)""";
+
+    private static final String DELETE = "DELETE FROM tasks WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+    private final Duration age;
+    private final int batchSize;
+    private final Duration pause;
+    private final Counter archived;
+
+    public TaskArchiver(DataSource dataSource,
+                        PlatformTransactionManager transactionManager,
+                        ApplicationEventPublisher events,
+                        @Value("${task.archive.age:30d}") Duration age,
+                        @Value("${task.archive.batch-size:500}") int batchSize,
+                        @Value("${task.archive.pause:200ms}") Duration pause,
+                        MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.events = events;
+        this.age = age;
+        this.batchSize = batchSize;
+        this.pause = pause;
+        this.archived = Counter.builder("task.archive.archived")
+                .description("Tareas movidas a tasks_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${task.archive.interval-ms:300000}")
+    public void archiveScheduled() {
+        try {
+            int moved = archive();
+            if (moved > 0) {
+                log.info("Archivadas {} tareas terminadas", moved);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo completar el archivado: {}", ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int archive() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now().minus(age);
+        int total = 0;
+        int moved;
+        do {
+            moved = archiveBatch(cutoff);
+            total += moved;
+            if (moved == batchSize && !pause.isZero()) {
+                Thread.sleep(pause.toMillis());
+            }
+        } while (moved == batchSize);
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH, Long.class,
+                    Timestamp.valueOf(cutoff), batchSize);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+            List<Object> args = new ArrayList<>(ids.size() + 1);
+            args.add(Timestamp.valueOf(LocalDateTime.now()));
+            args.addAll(ids);
+            jdbcTemplate.update(COPY_TO_ARCHIVE.formatted(placeholders), args.toArray());
+            jdbcTemplate.update(DELETE.formatted(placeholders), ids.toArray());
+            events.publishEvent(TaskChangedEvent.archived());
+            return ids.size();
+        });
+        archived.increment(moved);
+        return moved;
+    }
+}
@@ -0,0 +1,64 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.model.Priority;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Inserciones JDBC por lotes, para bases de datos sin {@code COPY} (H2 en los tests).
+ */
+final class BatchTaskBulkWriter implements TaskBulkWriter {
+
+    private static final String INSERT = """
+            INSERT INTO tasks (id, title, description, status, priority, created_at, updated_at, version)
+            VALUES (NEXT VALUE FOR tasks_seq, ?, ?, 'PENDING', ?, ?, ?, 0)""";
+
+    private final PreparedStatement statement;
+    private final Timestamp now;
+    private final int batchSize;
+    private int pending;
+    private long inserted;
+
+    BatchTaskBulkWriter(Connection connection, LocalDateTime now, int batchSize) throws SQLException {
+        this.statement = connection.prepareStatement(INSERT);
+        this.now = Timestamp.valueOf(now);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void add(CreateTaskRequest request) throws SQLException {
+        statement.setString(1, request.title());
+        statement.setString(2, request.description());
+        statement.setString(3, (request.priority() != null ? request.priority() : Priority.MEDIUM).name());
+        statement.setTimestamp(4, now);
+        statement.setTimestamp(5, now);
+        statement.addBatch();
+        if (++pending == batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public long finish() throws SQLException {
+        flush();
+        return inserted;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        statement.close();
+    }
+
+    private void flush() throws SQLException {
+        if (pending > 0) {
+            statement.executeBatch();
+            inserted += pending;
+            pending = 0;
+        }
+    }
+}
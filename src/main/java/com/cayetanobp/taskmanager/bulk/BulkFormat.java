@@ -0,0 +1,35 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum BulkFormat {
+    CSV,
+    NDJSON;
+
+    public static final String CSV_VALUE = "text/csv";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    public static BulkFormat parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Formato desconocido: " + value);
+        }
+    }
+
+    public MediaType mediaType() {
+        return MediaType.parseMediaType(this == CSV ? CSV_VALUE : NDJSON_VALUE);
+    }
+
+    public static BulkFormat from(MediaType contentType) {
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))) {
+            return CSV;
+        }
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON_VALUE))) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Formato no soportado: " + contentType);
+    }
+}
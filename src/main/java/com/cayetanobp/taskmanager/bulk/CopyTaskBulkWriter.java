@@ -0,0 +1,98 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.model.Priority;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Carga con {@code COPY ... FROM STDIN} en una tabla temporal y pasa las filas a {@code tasks}
+ * con un único {@code INSERT ... SELECT}, que asigna los ids con {@code nextval('tasks_seq')}
+ * igual que {@code data.sql}.
+ */
+final class CopyTaskBulkWriter implements TaskBulkWriter {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE task_import (
+                line bigint, title varchar(120), description varchar(500), priority varchar(16)
+            ) ON COMMIT DROP""";
+
+    private static final String COPY = "COPY task_import (line, title, description, priority) FROM STDIN WITH (FORMAT csv)";
+
+    private static final String INSERT = """
+            INSERT INTO tasks (id, title, description, status, priority, created_at, updated_at, version)
+            SELECT nextval('tasks_seq'), title, description, 'PENDING', priority, ?, ?, 0
+            FROM task_import ORDER BY line""";
+
+    private static final int FLUSH_BYTES = 64 * 1024;
+
+    private final Connection connection;
+    private final Timestamp now;
+    private final CopyIn copy;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(FLUSH_BYTES * 2);
+    private long line;
+
+    CopyTaskBulkWriter(Connection connection, LocalDateTime now) throws SQLException {
+        this.connection = connection;
+        this.now = Timestamp.valueOf(now);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING);
+        }
+        this.copy = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY);
+    }
+
+    @Override
+    public void add(CreateTaskRequest request) throws SQLException {
+        StringBuilder row = new StringBuilder(64)
+                .append(++line).append(',');
+        appendQuoted(row, request.title()).append(',');
+        appendQuoted(row, request.description()).append(',')
+                .append((request.priority() != null ? request.priority() : Priority.MEDIUM).name())
+                .append('\n');
+        buffer.writeBytes(row.toString().getBytes(StandardCharsets.UTF_8));
+        if (buffer.size() >= FLUSH_BYTES) {
+            flush();
+        }
+    }
+
+    @Override
+    public long finish() throws SQLException {
+        flush();
+        copy.endCopy();
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            insert.setTimestamp(1, now);
+            insert.setTimestamp(2, now);
+            return insert.executeUpdate();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (copy.isActive()) {
+            copy.cancelCopy();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (buffer.size() > 0) {
+            copy.writeToCopy(buffer.toByteArray(), 0, buffer.size());
+            buffer.reset();
+        }
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder row, String value) {
+        if (value == null) {
+            return row;
+        }
+        return row.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
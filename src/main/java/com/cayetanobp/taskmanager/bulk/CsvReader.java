@@ -0,0 +1,83 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector CSV mínimo (RFC 4180): campos entre comillas, comillas duplicadas y saltos de línea
+ * dentro de un campo entrecomillado. Un registro de más de {@code maxRecordLength} caracteres se
+ * rechaza con {@link IllegalArgumentException}: sin límite, una comilla sin cerrar acumularía en
+ * memoria el resto del cuerpo.
+ */
+final class CsvReader {
+
+    private final Reader in;
+    private final int maxRecordLength;
+    private long line = 1;
+    private long recordLine;
+
+    CsvReader(Reader in, int maxRecordLength) {
+        this.in = in;
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * @return los campos del siguiente registro, o {@code null} al final de la entrada
+     */
+    List<String> next() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        while (true) {
+            if (++length > maxRecordLength) {
+                throw new IllegalArgumentException("El registro CSV de la linea " + recordLine
+                        + " supera el maximo de " + maxRecordLength + " caracteres");
+            }
+            if (quoted) {
+                if (c == '"') {
+                    c = in.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                    field.append('"');
+                } else if (c == -1) {
+                    quoted = false;
+                    continue;
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                if (c == '\n') {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    long recordLine() {
+        return recordLine;
+    }
+}
@@ -0,0 +1,67 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.model.Priority;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filas CSV con cabecera. {@code title} es obligatoria; {@code description} y {@code priority}
+ * son opcionales y el orden de las columnas es libre.
+ */
+final class CsvTaskRowReader implements TaskRowReader {
+
+    private final CsvReader csv;
+    private final int title;
+    private final int description;
+    private final int priority;
+
+    CsvTaskRowReader(Reader reader, int maxRecordLength) throws IOException {
+        this.csv = new CsvReader(reader, maxRecordLength);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("El CSV esta vacio");
+        }
+        List<String> columns = header.stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        this.title = columns.indexOf("title");
+        this.description = columns.indexOf("description");
+        this.priority = columns.indexOf("priority");
+        if (title < 0) {
+            throw new IllegalArgumentException("La cabecera CSV debe incluir la columna title");
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = csv.next();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        long line = csv.recordLine();
+        Priority parsedPriority;
+        try {
+            String value = field(fields, priority);
+            parsedPriority = value != null ? Priority.valueOf(value.trim().toUpperCase(Locale.ROOT)) : null;
+        } catch (IllegalArgumentException ex) {
+            return ImportRow.invalid(line, "Prioridad desconocida: " + fields.get(priority));
+        }
+        return ImportRow.valid(line, new CreateTaskRequest(
+                field(fields, title), field(fields, description), parsedPriority));
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+}
@@ -0,0 +1,14 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+
+record ImportRow(long line, CreateTaskRequest request, String error) {
+
+    static ImportRow valid(long line, CreateTaskRequest request) {
+        return new ImportRow(line, request, null);
+    }
+
+    static ImportRow invalid(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
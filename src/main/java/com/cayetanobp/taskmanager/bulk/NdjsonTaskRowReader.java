@@ -0,0 +1,77 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Un objeto JSON por línea con los mismos campos que {@link CreateTaskRequest}. Una línea de más de
+ * {@code maxLineLength} caracteres se rechaza con {@link IllegalArgumentException} sin llegar a
+ * leerla entera.
+ */
+final class NdjsonTaskRowReader implements TaskRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private final int maxLineLength;
+    private final StringBuilder buffer = new StringBuilder();
+    private long line;
+
+    NdjsonTaskRowReader(BufferedReader reader, ObjectMapper objectMapper, int maxLineLength) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(CreateTaskRequest.class);
+        this.maxLineLength = maxLineLength;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        // null, un array o un escalar no son una tarea: Jackson devolvería null o intentaría convertirlos.
+        if (text.strip().charAt(0) != '{') {
+            return ImportRow.invalid(line, "Se esperaba un objeto JSON");
+        }
+        try {
+            return ImportRow.valid(line, objectReader.readValue(text));
+        } catch (InvalidFormatException ex) {
+            String field = ex.getPath().isEmpty() ? "?" : ex.getPath().get(ex.getPath().size() - 1).getFieldName();
+            return ImportRow.invalid(line, "Valor invalido para " + field + ": " + ex.getValue());
+        } catch (JsonProcessingException ex) {
+            return ImportRow.invalid(line, "JSON invalido: " + ex.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Como {@link BufferedReader#readLine()}, pero sin pasar de {@code maxLineLength} caracteres.
+     */
+    private String readLine() throws IOException {
+        buffer.setLength(0);
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1 && c != '\n') {
+            if (c != '\r') {
+                if (buffer.length() == maxLineLength) {
+                    throw new IllegalArgumentException("La linea " + (line + 1) + " supera el maximo de "
+                            + maxLineLength + " caracteres");
+                }
+                buffer.append((char) c);
+            }
+            c = reader.read();
+        }
+        return buffer.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+
+import java.sql.SQLException;
+
+/**
+ * Destino de las filas válidas de una importación. Trabaja sobre la conexión de la
+ * transacción en curso, así que todo se confirma o se deshace junto.
+ */
+interface TaskBulkWriter extends AutoCloseable {
+
+    void add(CreateTaskRequest request) throws SQLException;
+
+    /**
+     * Envía las filas pendientes.
+     *
+     * @return número total de tareas insertadas
+     */
+    long finish() throws SQLException;
+
+    /**
+     * Libera los recursos; si no se llamó a {@link #finish()} descarta lo pendiente.
+     */
+    @Override
+    void close() throws SQLException;
+}
@@ -0,0 +1,167 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.repository.TaskJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exporta tareas en streaming sin materializar el resultado: NDJSON desde el cursor JDBC de
+ * {@link TaskJdbcRepository#stream}, y CSV con {@code COPY ... TO STDOUT} en PostgreSQL o con el
+ * mismo cursor en el resto de bases.
+ */
+@Service
+public class TaskExportService {
+
+    static final String CSV_HEADER = "id,title,description,status,priority,created_at,updated_at,version";
+
+    private static final String TIMESTAMP = "to_char(%s, 'YYYY-MM-DD\"T\"HH24:MI:SS.US')";
+
+    /** El mismo formato que {@link #TIMESTAMP}, para que las dos rutas CSV escriban lo mismo. */
+    private static final DateTimeFormatter CSV_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSS");
+
+    private final TaskJdbcRepository jdbcRepository;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final boolean postgres;
+
+    public TaskExportService(TaskJdbcRepository jdbcRepository, DataSource dataSource,
+                             ObjectMapper objectMapper) throws MetaDataAccessException {
+        this.jdbcRepository = jdbcRepository;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equals(product);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(BulkFormat format, TaskStatus status, Priority priority,
+                       LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException, SQLException {
+        if (format == BulkFormat.NDJSON) {
+            exportNdjson(status, priority, from, to, out);
+        } else if (postgres) {
+            copyCsv(status, priority, from, to, out);
+        } else {
+            exportCsv(status, priority, from, to, out);
+        }
+    }
+
+    private void exportNdjson(TaskStatus status, Priority priority, LocalDateTime from, LocalDateTime to,
+                              OutputStream out) throws IOException {
+        try (SequenceWriter writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            jdbcRepository.stream(status, priority, from, to, task -> {
+                try {
+                    writer.write(task);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        }
+    }
+
+    private void exportCsv(TaskStatus status, Priority priority, LocalDateTime from, LocalDateTime to,
+                           OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        jdbcRepository.stream(status, priority, from, to, task -> {
+            try {
+                writeCsv(writer, task);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        writer.flush();
+    }
+
+    private void copyCsv(TaskStatus status, Priority priority, LocalDateTime from, LocalDateTime to,
+                         OutputStream out) throws IOException, SQLException {
+        List<String> conditions = new ArrayList<>();
+        if (status != null) {
+            conditions.add("status = '" + status.name() + "'");
+        }
+        if (priority != null) {
+            conditions.add("priority = '" + priority.name() + "'");
+        }
+        if (from != null) {
+            conditions.add("created_at >= '" + from + "'::timestamp");
+        }
+        if (to != null) {
+            conditions.add("created_at < '" + to + "'::timestamp");
+        }
+        String sql = "COPY (SELECT id, title, description, status, priority, "
+                + TIMESTAMP.formatted("created_at") + ", " + TIMESTAMP.formatted("updated_at") + ", version"
+                + " FROM tasks"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY created_at, id) TO STDOUT WITH (FORMAT csv)";
+
+        out.write((CSV_HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    static void writeCsv(Writer writer, TaskResponse task) throws IOException {
+        writer.write(String.valueOf(task.id()));
+        writer.write(',');
+        writeQuoted(writer, task.title());
+        writer.write(',');
+        writeQuoted(writer, task.description());
+        writer.write(',');
+        writer.write(task.status().name());
+        writer.write(',');
+        writer.write(task.priority().name());
+        writer.write(',');
+        writeTimestamp(writer, task.createdAt());
+        writer.write(',');
+        writeTimestamp(writer, task.updatedAt());
+        writer.write(',');
+        writer.write(String.valueOf(task.version()));
+        writer.write('\n');
+    }
+
+    private static void writeTimestamp(Writer writer, LocalDateTime value) throws IOException {
+        // Como COPY: un NULL es un campo vacío.
+        if (value != null) {
+            writer.write(CSV_TIMESTAMP.format(value));
+        }
+    }
+
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,120 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.dto.ImportError;
+import com.cayetanobp.taskmanager.dto.ImportReport;
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importa tareas desde CSV o NDJSON en streaming. Cada fila se valida con las mismas
+ * restricciones que {@link CreateTaskRequest}; las válidas se cargan en una sola transacción
+ * ({@code COPY} en PostgreSQL, lotes JDBC en el resto) y las inválidas se devuelven en el informe.
+ */
+@Service
+public class TaskImportService {
+
+    private static final int READ_BUFFER = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+    private final int maxErrors;
+    private final int maxLineLength;
+    private final boolean postgres;
+
+    public TaskImportService(DataSource dataSource,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             ApplicationEventPublisher events,
+                             @Value("${task.import.batch-size:1000}") int batchSize,
+                             @Value("${task.import.max-errors:1000}") int maxErrors,
+                             @Value("${task.import.max-line-length:65536}") int maxLineLength)
+            throws MetaDataAccessException {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.events = events;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.maxLineLength = maxLineLength;
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equals(product);
+    }
+
+    @Transactional
+    public ImportReport importTasks(InputStream body, BulkFormat format) throws IOException, SQLException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), READ_BUFFER);
+        TaskRowReader rows = format == BulkFormat.CSV
+                ? new CsvTaskRowReader(reader, maxLineLength)
+                : new NdjsonTaskRowReader(reader, objectMapper, maxLineLength);
+
+        List<ImportError> errors = new ArrayList<>();
+        long rejected = 0;
+        long imported;
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (TaskBulkWriter writer = postgres
+                ? new CopyTaskBulkWriter(connection, now)
+                : new BatchTaskBulkWriter(connection, now, batchSize)) {
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                String error = row.error() != null ? row.error() : validate(row.request());
+                if (error == null) {
+                    writer.add(row.request());
+                    continue;
+                }
+                rejected++;
+                if (errors.size() < maxErrors) {
+                    errors.add(new ImportError(row.line(), error));
+                }
+            }
+            imported = writer.finish();
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        if (imported > 0) {
+            events.publishEvent(TaskChangedEvent.imported());
+        }
+        return new ImportReport(imported, rejected, errors);
+    }
+
+    private String validate(CreateTaskRequest request) {
+        Set<ConstraintViolation<CreateTaskRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
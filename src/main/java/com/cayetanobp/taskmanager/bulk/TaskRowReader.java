@@ -0,0 +1,14 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import java.io.IOException;
+
+/**
+ * Lee las filas de una importación de una en una, sin cargar el fichero en memoria.
+ */
+interface TaskRowReader {
+
+    /**
+     * @return la siguiente fila, o {@code null} al final de la entrada
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,7 @@
+package com.cayetanobp.taskmanager.cache;
+
+public record CacheInvalidation(
+        String origin,
+        Long taskId
+) {
+}
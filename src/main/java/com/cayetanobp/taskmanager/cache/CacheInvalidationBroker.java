@@ -0,0 +1,10 @@
+package com.cayetanobp.taskmanager.cache;
+
+import java.util.function.Consumer;
+
+public interface CacheInvalidationBroker {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
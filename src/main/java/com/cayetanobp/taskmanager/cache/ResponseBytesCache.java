@@ -0,0 +1,190 @@
+package com.cayetanobp.taskmanager.cache;
+
+import com.cayetanobp.taskmanager.config.ReadConsistency;
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respuestas de {@code GET /api/tasks/{id}} y {@code GET /api/tasks} guardadas como bytes UTF-8
+ * (y gzip, si el cuerpo es grande), para servir los aciertos sin pasar por Jackson. La caché se
+ * acota por bytes totales, no por número de entradas: una página de mil tareas pesa lo que pesa.
+ *
+ * <p>Cada escritura de {@code TaskService} invalida la tarea afectada al publicarse el evento y
+ * otra vez tras el commit; las de otros nodos llegan por {@link CacheInvalidationBroker}, y
+ * {@code task.response-cache.ttl} acota lo que se pierda por el camino. Las páginas se descartan
+ * todas con cualquier escritura: no se sabe cuáles contienen la tarea, y así las viejas no ocupan
+ * el sitio de las vigentes hasta salir por peso. Una respuesta cargada
+ * mientras se invalidaba su clave se sirve pero no se guarda, para no dejar en caché datos leídos
+ * antes de la escritura; tampoco lo leído en una réplica que aún no tenía la última escritura
+ * ({@link ReadConsistency}).
+ */
+@Component
+public class ResponseBytesCache {
+
+    static final String CACHE_NAME = "responses";
+
+    /** Generaciones por grupo de claves: una escritura solo descarta las cargas de su grupo. */
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Object, SerializedResponse> cache;
+    private final ObjectMapper objectMapper;
+    private final int gzipMinBytes;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong epoch = new AtomicLong();
+    /** Generación de todas las páginas: cambia con cualquier invalidación. */
+    private final AtomicLong pageGeneration = new AtomicLong();
+    /** Claves de las páginas guardadas, para descartarlas sin recorrer la caché entera. */
+    private final Set<Object> pageKeys = ConcurrentHashMap.newKeySet();
+
+    public ResponseBytesCache(@Value("${task.response-cache.max-size:64MB}") DataSize maxSize,
+                              @Value("${task.response-cache.gzip-min-size:1KB}") DataSize gzipMinSize,
+                              @Value("${task.response-cache.ttl:5m}") Duration ttl,
+                              ObjectMapper objectMapper,
+                              CacheInvalidationBroker broker,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Object key, SerializedResponse value) -> value.weight())
+                .expireAfterWrite(ttl)
+                .evictionListener((Object key, SerializedResponse value, RemovalCause cause) -> pageKeys.remove(key))
+                .recordStats()
+                .build();
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = (int) gzipMinSize.toBytes();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        broker.subscribe(invalidation -> evict(invalidation.taskId()));
+    }
+
+    public static Object taskKey(Long id) {
+        return new TaskKey(id);
+    }
+
+    /**
+     * Las páginas se guardan por su ETag, que ya resume filtros, cursor, límite, campos y la versión
+     * de los datos ({@code max(change_seq)} y {@code count}): un cambio hecho fuera de
+     * {@code TaskService}, que no invalida nada, también produce una clave nueva.
+     */
+    public static Object pageKey(String etag) {
+        return new PageKey(etag);
+    }
+
+    public SerializedResponse get(Object key, Supplier<SerializedResponse> loader) {
+        if (!ReadConsistency.cachesUpToDate()) {
+            return loader.get();
+        }
+        SerializedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = generation(key);
+        ReadConsistency.Read<SerializedResponse> read = ReadConsistency.track(loader);
+        if (generation(key) == stamp && read.cacheable()) {
+            cache.put(key, read.value());
+            if (key instanceof PageKey) {
+                pageKeys.add(key);
+            }
+            if (generation(key) != stamp || !read.cacheable()) {
+                cache.invalidate(key);
+            }
+        }
+        return read.value();
+    }
+
+    public SerializedResponse serialize(Object body, String etag, long lastModified, String next) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new SerializedResponse(json, json.length >= gzipMinBytes ? gzip(json) : null,
+                    etag, lastModified, next);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Long taskId = event.taskId();
+        evict(taskId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(taskId);
+                }
+            });
+        }
+    }
+
+    private void evict(Long taskId) {
+        ReadConsistency.noteWrite();
+        if (taskId == null) {
+            epoch.incrementAndGet();
+            cache.invalidateAll();
+            pageKeys.clear();
+        } else {
+            TaskKey key = new TaskKey(taskId);
+            generations.incrementAndGet(stripe(key));
+            cache.invalidate(key);
+            pageGeneration.incrementAndGet();
+            for (Iterator<Object> pages = pageKeys.iterator(); pages.hasNext(); ) {
+                cache.invalidate(pages.next());
+                pages.remove();
+            }
+        }
+    }
+
+    /** Solo aumenta: cambia con cualquier invalidación que afecte a la clave. */
+    private long generation(Object key) {
+        return epoch.get() + (key instanceof PageKey ? pageGeneration.get() : generations.get(stripe(key)));
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    long weightedSize() {
+        cache.cleanUp();
+        return cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0))
+                .orElse(0L);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private record TaskKey(Long id) {
+    }
+
+    private record PageKey(String etag) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.cayetanobp.taskmanager.cache;
+
+/**
+ * Cuerpo JSON ya serializado, junto con las cabeceras que lo acompañan. {@code gzip} es nulo si el
+ * cuerpo es demasiado pequeño para que compense comprimirlo.
+ */
+public record SerializedResponse(
+        byte[] json,
+        byte[] gzip,
+        String etag,
+        long lastModified,
+        String next
+) {
+    int weight() {
+        return json.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.cayetanobp.taskmanager.cache;
+
+import com.cayetanobp.taskmanager.config.ReadConsistency;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+@Component
+public class TaskCache {
+
+    static final String CACHE_NAME = "tasks";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Cache<Long, TaskResponse> cache;
+    private final CacheInvalidationBroker broker;
+
+    public TaskCache(@Value("${task.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${task.cache.ttl:5m}") Duration ttl,
+                     CacheInvalidationBroker broker,
+                     MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.broker = broker;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        broker.subscribe(this::onRemoteInvalidation);
+    }
+
+    /**
+     * Solo guarda lo que {@link ReadConsistency} considera actual: una lectura de una réplica
+     * atrasada se devuelve pero no se cachea.
+     */
+    public TaskResponse get(Long id, Supplier<TaskResponse> loader) {
+        if (!ReadConsistency.cachesUpToDate()) {
+            return loader.get();
+        }
+        AtomicReference<TaskResponse> uncached = new AtomicReference<>();
+        TaskResponse cached = cache.get(id, key -> {
+            ReadConsistency.Read<TaskResponse> read = ReadConsistency.track(loader);
+            if (read.cacheable()) {
+                return read.value();
+            }
+            uncached.set(read.value());
+            return null;
+        });
+        return cached != null ? cached : uncached.get();
+    }
+
+    public TaskResponse peek(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(Long id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        ids.forEach(this::invalidate);
+    }
+
+    public void invalidateAll() {
+        invalidate(null);
+    }
+
+    private void evict(Long id) {
+        evictLocal(id);
+        broker.publish(new CacheInvalidation(nodeId, id));
+    }
+
+    private void evictLocal(Long id) {
+        ReadConsistency.noteWrite();
+        if (id == null) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidate(id);
+        }
+    }
+
+    private void onRemoteInvalidation(CacheInvalidation invalidation) {
+        if (!nodeId.equals(invalidation.origin())) {
+            evictLocal(invalidation.taskId());
+        }
+    }
+}
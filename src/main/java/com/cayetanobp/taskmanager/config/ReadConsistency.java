@@ -0,0 +1,113 @@
+package com.cayetanobp.taskmanager.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Token de lectura de la petición en curso: instante (epoch ms) de la última escritura que el
+ * cliente ya ha visto. {@link ReplicaRoutingDataSource} solo envía la lectura a una réplica que
+ * esté al día hasta ese instante.
+ *
+ * <p>También decide qué lecturas pueden llenar una caché compartida. Una lectura servida por una
+ * réplica atrasada no debe quedarse en caché, porque después la recibirían todos, incluidos los
+ * clientes con token. {@link #track} anota la frescura de las réplicas usadas durante una carga
+ * y {@link Read#cacheable()} la compara con la última escritura que ha visto este nodo
+ * ({@link #noteWrite()}, que las cachés llaman antes de cada invalidación). Sin réplicas todas
+ * las lecturas van al primario y siempre se pueden guardar.
+ */
+public final class ReadConsistency {
+
+    public static final String TOKEN_HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<Long> TOKEN = new ThreadLocal<>();
+
+    /** Frescura mínima de lo leído dentro del {@link #track} en curso; {@code Long.MAX_VALUE} = primario. */
+    private static final ThreadLocal<Long> SERVED = new ThreadLocal<>();
+
+    /**
+     * Empieza en el arranque: una réplica que aún no se ha sondeado puede no tener escrituras
+     * anteriores hechas por otros nodos.
+     */
+    private static final AtomicLong LAST_WRITE = new AtomicLong(System.currentTimeMillis());
+
+    private ReadConsistency() {
+    }
+
+    public static void require(long writtenAt) {
+        TOKEN.set(writtenAt);
+    }
+
+    public static Long current() {
+        return TOKEN.get();
+    }
+
+    public static void clear() {
+        TOKEN.remove();
+    }
+
+    /**
+     * Registra que una escritura es visible a partir de ahora. Se llama justo antes de invalidar
+     * una caché, tanto por escrituras locales como por invalidaciones de otros nodos.
+     */
+    public static void noteWrite() {
+        LAST_WRITE.accumulateAndGet(System.currentTimeMillis(), Math::max);
+    }
+
+    /**
+     * Las cachés de este nodo ya reflejan la escritura del token de la petición. Si el token es
+     * posterior a la última escritura vista aquí (se escribió en otro nodo y la invalidación aún
+     * no ha llegado), la lectura debe saltarse las cachés.
+     */
+    public static boolean cachesUpToDate() {
+        Long token = TOKEN.get();
+        return token == null || token <= LAST_WRITE.get();
+    }
+
+    /**
+     * Ejecuta una carga anotando la frescura de las réplicas que use. Las cargas anidadas
+     * propagan su frescura a la exterior.
+     */
+    public static <T> Read<T> track(Supplier<T> read) {
+        Long outer = SERVED.get();
+        SERVED.set(Long.MAX_VALUE);
+        try {
+            T value = read.get();
+            return new Read<>(value, SERVED.get());
+        } finally {
+            long inner = SERVED.get();
+            if (outer == null) {
+                SERVED.remove();
+            } else {
+                SERVED.set(Math.min(outer, inner));
+            }
+        }
+    }
+
+    /**
+     * Cuenta en la carga en curso un resultado leído en otro hilo con esa frescura, por ejemplo
+     * el de una llamada agrupada.
+     */
+    public static void observed(long freshness) {
+        Long current = SERVED.get();
+        if (current != null && freshness < current) {
+            SERVED.set(freshness);
+        }
+    }
+
+    /** Lo llama el enrutado al elegir una réplica al día hasta {@code caughtUpTo}. */
+    static void servedFrom(long caughtUpTo) {
+        observed(caughtUpTo);
+    }
+
+    public record Read<T>(T value, long freshness) {
+
+        /**
+         * Viene del primario o de una réplica que ya tenía la última escritura vista por este
+         * nodo. Conviene comprobarlo otra vez tras guardar en caché, por si entre medias llegó
+         * una escritura.
+         */
+        public boolean cacheable() {
+            return freshness >= LAST_WRITE.get();
+        }
+    }
+}
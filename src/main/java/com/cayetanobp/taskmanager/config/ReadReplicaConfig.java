@@ -0,0 +1,132 @@
+package com.cayetanobp.taskmanager.config;
+
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Activa el enrutado a réplicas cuando se configura {@code task.datasource.replica-urls}.
+ * Las escrituras devuelven la cabecera {@link ReadConsistency#TOKEN_HEADER}; si el cliente la
+ * reenvía en sus lecturas, no se le sirve desde una réplica que aún no tenga esa escritura.
+ */
+@Configuration
+@ConditionalOnProperty("task.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    static BeanPostProcessor replicaRoutingDataSource(
+            @Value("${task.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${task.datasource.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${task.datasource.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${task.datasource.replica-assumed-lag:1s}") Duration assumedLag,
+            @Value("${task.datasource.replica-probe-interval:1s}") Duration probeInterval) {
+        return new RoutingPostProcessor(replicaUrls, username, password, assumedLag, probeInterval);
+    }
+
+    @Bean
+    public ConsistencyTokenFilter consistencyTokenFilter() {
+        return new ConsistencyTokenFilter();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null) {
+            attributes.getResponse().setHeader(ReadConsistency.TOKEN_HEADER,
+                    String.valueOf(System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Se ordena antes que el limitador de concurrencia para que este quede por fuera y cuente
+     * las conexiones del primario y de las réplicas por igual.
+     */
+    private record RoutingPostProcessor(List<String> replicaUrls, String username, String password,
+                                        Duration assumedLag, Duration probeInterval)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource primary)
+                    || bean instanceof ReplicaRoutingDataSource) {
+                return bean;
+            }
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (int i = 0; i < replicaUrls.size(); i++) {
+                replicas.put("replica-" + i, DataSourceBuilder.create()
+                        .url(replicaUrls.get(i).trim())
+                        .username(username)
+                        .password(password)
+                        .build());
+            }
+            return new RoutingDataSourceProxy(
+                    new ReplicaRoutingDataSource(primary, replicas, assumedLag, probeInterval));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    /**
+     * El gestor de transacciones pide la conexión antes de marcarla como de solo lectura; el
+     * proxy perezoso retrasa la elección del destino hasta la primera sentencia.
+     */
+    static class RoutingDataSourceProxy extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+        private final ReplicaRoutingDataSource routing;
+
+        RoutingDataSourceProxy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+
+        @Override
+        public void close() throws Exception {
+            routing.close();
+        }
+    }
+
+    static class ConsistencyTokenFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain chain) throws ServletException, IOException {
+            String token = request.getHeader(ReadConsistency.TOKEN_HEADER);
+            if (token != null) {
+                try {
+                    ReadConsistency.require(Long.parseLong(token.trim()));
+                } catch (NumberFormatException ignored) {
+                    // Un token ilegible no impide la lectura; simplemente no se exige frescura.
+                }
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                ReadConsistency.clear();
+            }
+        }
+    }
+}
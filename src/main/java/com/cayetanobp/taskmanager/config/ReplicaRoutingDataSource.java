@@ -0,0 +1,214 @@
+package com.cayetanobp.taskmanager.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas (en rotación) y todo lo demás al
+ * primario. Debe usarse detrás de un {@code LazyConnectionDataSourceProxy} para que la conexión
+ * se pida cuando la transacción ya está marcada como de solo lectura.
+ *
+ * <p>Un sondeo periódico calcula hasta qué instante está al día cada réplica. En PostgreSQL se
+ * guarda un historial de {@code pg_current_wal_lsn()} del primario por instante de sondeo, y cada
+ * réplica queda al día hasta la muestra más reciente que ya ha reproducido
+ * ({@code pg_last_wal_replay_lsn()}): con escrituras continuas una réplica nunca alcanza el LSN
+ * actual, pero sí el de hace uno o dos sondeos. En otras bases se supone un retraso fijo. Si la petición lleva un
+ * {@link ReadConsistency token}, solo se usan réplicas al día hasta ese instante.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    /** Muestras del primario que se conservan; con el sondeo por defecto, cinco minutos. */
+    static final int WAL_HISTORY_SIZE = 300;
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration assumedLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService prober;
+    private final WalHistory walHistory = new WalHistory(WAL_HISTORY_SIZE);
+    private volatile Boolean walSupported;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration assumedLag, Duration probeInterval) {
+        this.primary = primary;
+        this.assumedLag = assumedLag;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            targets.put(name, dataSource);
+            this.replicas.add(new Replica(name, dataSource));
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        if (probeInterval.isZero()) {
+            this.prober = null;
+        } else {
+            this.prober = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-probe");
+                thread.setDaemon(true);
+                return thread;
+            });
+            prober.scheduleWithFixedDelay(this::probe, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        Long token = ReadConsistency.current();
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.available && (token == null || replica.caughtUpTo >= token)) {
+                ReadConsistency.servedFrom(replica.caughtUpTo);
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Actualiza el estado de cada réplica. Se ejecuta periódicamente; es visible para los tests.
+     */
+    void probe() {
+        // El instante se toma antes de leer el LSN: todo lo confirmado hasta entonces queda por debajo.
+        long startedAt = System.currentTimeMillis();
+        String primaryLsn = primaryLsn();
+        if (primaryLsn != null) {
+            walHistory.record(startedAt, parseLsn(primaryLsn));
+        }
+        for (Replica replica : replicas) {
+            try {
+                JdbcTemplate jdbc = new JdbcTemplate(replica.dataSource);
+                if (primaryLsn == null) {
+                    jdbc.queryForObject("SELECT 1", Integer.class);
+                    replica.caughtUpTo = startedAt - assumedLag.toMillis();
+                } else {
+                    String replayed = jdbc.queryForObject(
+                            "SELECT CAST(pg_last_wal_replay_lsn() AS text)", String.class);
+                    // Sin LSN de reproducción no está en recuperación: es otro primario, siempre al día.
+                    long caughtUpTo = replayed == null ? startedAt : walHistory.caughtUpTo(parseLsn(replayed));
+                    replica.caughtUpTo = Math.max(replica.caughtUpTo, caughtUpTo);
+                }
+                replica.available = true;
+            } catch (RuntimeException ex) {
+                if (replica.available) {
+                    log.warn("Replica {} no disponible, se usara el primario: {}", replica.name, ex.getMessage());
+                }
+                replica.available = false;
+            }
+        }
+    }
+
+    private String primaryLsn() {
+        if (Boolean.FALSE.equals(walSupported)) {
+            return null;
+        }
+        try {
+            String lsn = new JdbcTemplate(primary).queryForObject("SELECT CAST(pg_current_wal_lsn() AS text)", String.class);
+            walSupported = true;
+            return lsn;
+        } catch (RuntimeException ex) {
+            if (walSupported == null) {
+                walSupported = false;
+            }
+            return null;
+        }
+    }
+
+    /** Convierte un {@code pg_lsn} en texto ({@code 16/B374D848}) a un número comparable. */
+    static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        return (Long.parseLong(lsn.substring(0, slash), 16) << 32) | Long.parseLong(lsn.substring(slash + 1), 16);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Pares (instante del sondeo, LSN del primario) en orden creciente, acotados a las últimas
+     * {@code capacity} muestras.
+     */
+    static final class WalHistory {
+
+        private final int capacity;
+        private final Deque<long[]> samples = new ArrayDeque<>();
+
+        WalHistory(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void record(long at, long lsn) {
+            samples.addLast(new long[]{at, lsn});
+            if (samples.size() > capacity) {
+                samples.removeFirst();
+            }
+        }
+
+        /**
+         * Instante de la muestra más reciente cuyo LSN ya se ha reproducido; {@code Long.MIN_VALUE}
+         * si la réplica va por detrás de todo el historial.
+         */
+        synchronized long caughtUpTo(long replayedLsn) {
+            Iterator<long[]> newestFirst = samples.descendingIterator();
+            while (newestFirst.hasNext()) {
+                long[] sample = newestFirst.next();
+                if (sample[1] <= replayedLsn) {
+                    return sample[0];
+                }
+            }
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long caughtUpTo;
+        private volatile boolean available = true;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
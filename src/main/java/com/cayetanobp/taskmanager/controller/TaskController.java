@@ -1,38 +1,221 @@
 package com.cayetanobp.taskmanager.controller;
 
+import com.cayetanobp.taskmanager.cache.ResponseBytesCache;
+import com.cayetanobp.taskmanager.cache.SerializedResponse;
+import com.cayetanobp.taskmanager.dto.BatchCreateTaskRequest;
+import com.cayetanobp.taskmanager.dto.BatchDeleteTaskRequest;
+import com.cayetanobp.taskmanager.dto.BatchUpdateTaskRequest;
 import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.dto.SyncToken;
+import com.cayetanobp.taskmanager.dto.TaskChanges;
+import com.cayetanobp.taskmanager.dto.TaskCursor;
+import com.cayetanobp.taskmanager.dto.TaskField;
+import com.cayetanobp.taskmanager.dto.TaskPage;
 import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskStats;
+import com.cayetanobp.taskmanager.dto.TaskVersion;
 import com.cayetanobp.taskmanager.dto.UpdateTaskRequest;
+import com.cayetanobp.taskmanager.event.TaskEventBroadcaster;
 import com.cayetanobp.taskmanager.model.Priority;
 import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.service.TaskReadCoalescer;
 import com.cayetanobp.taskmanager.service.TaskService;
+import com.cayetanobp.taskmanager.service.TaskSyncService;
+import com.cayetanobp.taskmanager.stats.TaskStatistics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
 public class TaskController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String NEXT_PAGE_HEADER = "X-Next-Page";
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+    static final int MAX_SEARCH_LIMIT = 100;
+
     private final TaskService service;
+    private final TaskReadCoalescer reads;
+    private final ResponseBytesCache responses;
+    private final TaskSyncService syncService;
+    private final TaskEventBroadcaster broadcaster;
+    private final TaskStatistics statistics;
+    private final ObjectMapper objectMapper;
 
-    public TaskController(TaskService service) {
+    public TaskController(TaskService service, TaskReadCoalescer reads, ResponseBytesCache responses,
+                          TaskSyncService syncService, TaskEventBroadcaster broadcaster, TaskStatistics statistics,
+                          ObjectMapper objectMapper) {
         this.service = service;
+        this.reads = reads;
+        this.responses = responses;
+        this.syncService = syncService;
+        this.broadcaster = broadcaster;
+        this.statistics = statistics;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public List<TaskResponse> list(
+    public ResponseEntity<byte[]> list(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El limite debe estar entre 1 y " + MAX_LIMIT);
+        }
+        TaskCursor after = cursor != null ? TaskCursor.decode(cursor) : null;
+        Set<TaskField> selected = TaskField.parse(fields);
+
+        return reads.listing(status, () -> {
+            TaskVersion version = reads.findVersion(status, priority);
+            String etag = TaskETags.of(version, status, priority, cursor, limit, selected);
+            // Aún no se sabe si la página se comprimirá: quien acepta gzip recibe el ETag de esa variante.
+            String tag = acceptsGzip(acceptEncoding) ? TaskETags.gzip(etag) : etag;
+            // Sin Last-Modified: la lista no tiene una fecha que cambie con cada escritura.
+            if (webRequest.checkNotModified(tag)) {
+                return null;
+            }
+
+            SerializedResponse page = responses.get(ResponseBytesCache.pageKey(etag), () -> {
+                TaskPage result = reads.findAll(version, status, priority, after, limit, selected);
+                List<?> items = selected.containsAll(TaskField.ALL)
+                        ? result.items()
+                        : result.items().stream().map(task -> TaskField.select(task, selected)).toList();
+                return responses.serialize(items, null, -1, result.next());
+            });
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.next() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.next());
+            }
+            return body(response, page, acceptEncoding);
+        });
+    }
+
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> stream(
             @RequestParam(required = false) TaskStatus status,
             @RequestParam(required = false) Priority priority) {
-        return service.findAll(status, priority);
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(out)) {
+                service.streamAll(status, priority, task -> {
+                    try {
+                        writer.write(task);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Priority priority,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return broadcaster.subscribe(status, priority, lastEventId);
+    }
+
+    @GetMapping("/stats")
+    public TaskStats stats(@RequestParam(defaultValue = "false") boolean byDay) {
+        return statistics.snapshot(byDay);
+    }
+
+    @GetMapping("/count")
+    public Map<String, Long> count(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Priority priority) {
+        return Map.of("count", reads.count(status, priority));
+    }
+
+    @GetMapping("/changes")
+    public TaskChanges changes(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "" + DEFAULT_LIMIT) int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El limite debe estar entre 1 y " + MAX_LIMIT);
+        }
+        return syncService.changes(since != null ? SyncToken.decode(since) : null, limit);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskResponse>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (page < 0) {
+            throw new IllegalArgumentException("La pagina no puede ser negativa");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("El limite debe estar entre 1 y " + MAX_SEARCH_LIMIT);
+        }
+        TaskPage result = service.search(q, page, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.hasNext()) {
+            response.header(NEXT_PAGE_HEADER, result.next());
+        }
+        return response.body(result.items());
     }
 
     @GetMapping("/{id}")
-    public TaskResponse getById(@PathVariable Long id) {
-        return service.findById(id);
+    public ResponseEntity<byte[]> getById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        SerializedResponse task = responses.get(ResponseBytesCache.taskKey(id), () -> {
+            TaskResponse found = reads.findById(id);
+            return responses.serialize(found, TaskETags.of(found), TaskETags.lastModified(found.updatedAt()), null);
+        });
+        String etag = task.gzip() != null && acceptsGzip(acceptEncoding) ? TaskETags.gzip(task.etag()) : task.etag();
+        return body(ResponseEntity.ok().eTag(etag).lastModified(task.lastModified()), task, acceptEncoding);
+    }
+
+    /**
+     * Escribe los bytes ya serializados tal cual; si hay versión comprimida y el cliente acepta gzip,
+     * se envía esa.
+     */
+    private static ResponseEntity<byte[]> body(ResponseEntity.BodyBuilder response, SerializedResponse serialized,
+                                               String acceptEncoding) {
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (serialized.gzip() == null) {
+            return response.body(serialized.json());
+        }
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(serialized.gzip());
+        }
+        return response.body(serialized.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        return acceptEncoding != null && acceptEncoding.toLowerCase(Locale.ROOT).contains("gzip");
     }
 
     @PostMapping
@@ -41,9 +224,41 @@ public class TaskController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskResponse>> createBatch(@Valid @RequestBody BatchCreateTaskRequest request) {
+        List<TaskResponse> created = service.createAll(request.tasks());
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    @PatchMapping("/batch")
+    public List<TaskResponse> updateBatch(@Valid @RequestBody BatchUpdateTaskRequest request) {
+        return service.updateAll(request.tasks());
+    }
+
+    @DeleteMapping("/batch")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteBatch(@Valid @RequestBody BatchDeleteTaskRequest request) {
+        service.deleteAll(request.ids());
+    }
+
+    @DeleteMapping
+    public Map<String, Integer> deleteMatching(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Priority priority) {
+        return Map.of("deleted", service.deleteMatching(status, priority));
+    }
+
     @PutMapping("/{id}")
-    public TaskResponse update(@PathVariable Long id, @Valid @RequestBody UpdateTaskRequest request) {
-        return service.update(id, request);
+    public ResponseEntity<TaskResponse> update(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UpdateTaskRequest request) {
+        TaskResponse updated = ifMatch == null || ifMatch.trim().equals("*")
+                ? service.update(id, request)
+                : service.update(id, TaskETags.version(ifMatch, id), request);
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(updated))
+                .body(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,66 @@
+package com.cayetanobp.taskmanager.controller;
+
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskVersion;
+import com.cayetanobp.taskmanager.exception.TaskVersionConflictException;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+
+final class TaskETags {
+
+    /**
+     * Sufijo de la representación gzip: un ETag fuerte identifica los bytes exactos, así que la
+     * versión comprimida no puede compartirlo con la sin comprimir.
+     */
+    static final String GZIP_SUFFIX = "-gzip";
+
+    private TaskETags() {
+    }
+
+    static String of(TaskResponse task) {
+        return task.id() + "-" + task.version();
+    }
+
+    static String gzip(String etag) {
+        return etag + GZIP_SUFFIX;
+    }
+
+    static Long version(String ifMatch, Long id) {
+        String tag = ifMatch.trim();
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new TaskVersionConflictException(id);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        if (value.endsWith(GZIP_SUFFIX)) {
+            value = value.substring(0, value.length() - GZIP_SUFFIX.length());
+        }
+        int sep = value.lastIndexOf('-');
+        if (sep < 0 || !value.substring(0, sep).equals(String.valueOf(id))) {
+            throw new TaskVersionConflictException(id);
+        }
+        try {
+            return Long.parseLong(value.substring(sep + 1));
+        } catch (NumberFormatException ex) {
+            throw new TaskVersionConflictException(id);
+        }
+    }
+
+    static String of(TaskVersion version, Object... query) {
+        return digest(version.changeSeq(), version.count(), query);
+    }
+
+    static long lastModified(LocalDateTime dateTime) {
+        return dateTime != null
+                ? dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+    }
+
+    private static String digest(Object... parts) {
+        String raw = Arrays.deepToString(parts);
+        return DigestUtils.md5DigestAsHex(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package com.cayetanobp.taskmanager.controller;
+
+import com.cayetanobp.taskmanager.bulk.BulkFormat;
+import com.cayetanobp.taskmanager.bulk.TaskImportService;
+import com.cayetanobp.taskmanager.dto.ImportReport;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+
+@RestController
+@RequestMapping("/api/tasks/import")
+public class TaskImportController {
+
+    private final TaskImportService importService;
+
+    public TaskImportController(TaskImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(consumes = {BulkFormat.CSV_VALUE, BulkFormat.NDJSON_VALUE})
+    public ImportReport importTasks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                    InputStream body) throws IOException, SQLException {
+        return importService.importTasks(body, BulkFormat.from(contentType));
+    }
+}
@@ -0,0 +1,15 @@
+package com.cayetanobp.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchCreateTaskRequest(
+
+        @NotEmpty(message = "El lote no puede estar vacio")
+        @Size(max = 1000, message = "El lote no puede superar 1000 tareas")
+        List<@Valid CreateTaskRequest> tasks
+) {
+}
@@ -0,0 +1,37 @@
+package com.cayetanobp.taskmanager.dto;
+
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BatchUpdateTaskRequest(
+
+        @NotEmpty(message = "El lote no puede estar vacio")
+        @Size(max = 1000, message = "El lote no puede superar 1000 tareas")
+        List<@Valid Item> tasks
+) {
+    public record Item(
+
+            @NotNull(message = "El id es obligatorio")
+            Long id,
+
+            @Size(max = 120, message = "El titulo no puede superar 120 caracteres")
+            String title,
+
+            @Size(max = 500, message = "La descripcion no puede superar 500 caracteres")
+            String description,
+
+            TaskStatus status,
+
+            Priority priority
+    ) {
+        public UpdateTaskRequest changes() {
+            return new UpdateTaskRequest(title, description, status, priority);
+        }
+    }
+}
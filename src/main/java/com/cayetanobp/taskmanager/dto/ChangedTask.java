@@ -0,0 +1,18 @@
+package com.cayetanobp.taskmanager.dto;
+
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tarea devuelta por la sincronización junto con su número de cambio, que da la posición del
+ * token.
+ */
+public record ChangedTask(TaskResponse task, long changeSeq) {
+
+    public ChangedTask(Long id, String title, String description, TaskStatus status, Priority priority,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, Long version, Long changeSeq) {
+        this(new TaskResponse(id, title, description, status, priority, createdAt, updatedAt, version), changeSeq);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cayetanobp.taskmanager.dto;
+
+public record ImportError(
+        long line,
+        String message
+) {
+}
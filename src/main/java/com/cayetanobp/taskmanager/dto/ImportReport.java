@@ -0,0 +1,10 @@
+package com.cayetanobp.taskmanager.dto;
+
+import java.util.List;
+
+public record ImportReport(
+        long imported,
+        long rejected,
+        List<ImportError> errors
+) {
+}
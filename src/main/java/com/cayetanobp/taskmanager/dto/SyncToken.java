@@ -0,0 +1,74 @@
+package com.cayetanobp.taskmanager.dto;
+
+import com.cayetanobp.taskmanager.exception.SyncTokenExpiredException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Marca de agua de {@code GET /api/tasks/changes}: última tarea modificada y último borrado que
+ * el cliente ya ha recibido, ambos como posición {@code (número de cambio, id)} en su índice. Un
+ * id {@link #CONSUMED} indica que ya se entregó todo lo que tiene ese número de cambio.
+ */
+public record SyncToken(long changeSeq, long changeId, long deleteSeq, long deleteId) {
+
+    public static final long CONSUMED = Long.MAX_VALUE;
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Primera sincronización: todas las tareas existentes y solo los borrados posteriores a
+     * {@code watermark}.
+     */
+    public static SyncToken initial(long watermark) {
+        return new SyncToken(0L, 0L, watermark, CONSUMED);
+    }
+
+    public SyncToken withChanged(long seq, long taskId) {
+        return new SyncToken(seq, taskId, deleteSeq, deleteId);
+    }
+
+    public SyncToken withDeleted(long seq, long taskId) {
+        return new SyncToken(changeSeq, changeId, seq, taskId);
+    }
+
+    /**
+     * El cliente ya recibió todos los borrados hasta {@code pruned}: los que se han purgado no le
+     * faltan.
+     */
+    public boolean hasDeletesUpTo(long pruned) {
+        return deleteSeq > pruned || (deleteSeq == pruned && deleteId == CONSUMED);
+    }
+
+    public String encode() {
+        String raw = changeSeq + SEPARATOR + changeId + SEPARATOR + deleteSeq + SEPARATOR + deleteId;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncToken decode(String token) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", -1);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Token de sincronizacion invalido: " + token, ex);
+        }
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Token de sincronizacion invalido: " + token);
+        }
+        // Los tokens anteriores llevaban fechas: no se pueden traducir, hay que volver a sincronizar.
+        if (parts[0].contains("T")) {
+            throw new SyncTokenExpiredException();
+        }
+        try {
+            return new SyncToken(
+                    Long.parseLong(parts[0]),
+                    Long.parseLong(parts[1]),
+                    Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Token de sincronizacion invalido: " + token, ex);
+        }
+    }
+}
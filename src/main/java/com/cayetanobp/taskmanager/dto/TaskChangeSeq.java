@@ -0,0 +1,11 @@
+package com.cayetanobp.taskmanager.dto;
+
+/**
+ * Número de cambio con que se confirmó por última vez una tarea o su borrado; {@code null} si
+ * aún no está numerado.
+ */
+public record TaskChangeSeq(
+        Long id,
+        Long changeSeq
+) {
+}
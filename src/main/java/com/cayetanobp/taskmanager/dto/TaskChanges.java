@@ -0,0 +1,11 @@
+package com.cayetanobp.taskmanager.dto;
+
+import java.util.List;
+
+public record TaskChanges(
+        List<TaskResponse> changed,
+        List<Long> deleted,
+        String token,
+        boolean hasMore
+) {
+}
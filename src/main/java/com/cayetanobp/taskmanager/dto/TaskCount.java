@@ -0,0 +1,20 @@
+package com.cayetanobp.taskmanager.dto;
+
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDate;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TaskCount(
+        TaskStatus status,
+        Priority priority,
+        LocalDate day,
+        Long count
+) {
+
+    public TaskCount(TaskStatus status, Priority priority, Long count) {
+        this(status, priority, null, count);
+    }
+}
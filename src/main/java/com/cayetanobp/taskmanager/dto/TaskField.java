@@ -0,0 +1,63 @@
+package com.cayetanobp.taskmanager.dto;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+public enum TaskField {
+    ID("id", "id", TaskResponse::id),
+    TITLE("title", "title", TaskResponse::title),
+    DESCRIPTION("description", "description", TaskResponse::description),
+    STATUS("status", "status", TaskResponse::status),
+    PRIORITY("priority", "priority", TaskResponse::priority),
+    CREATED_AT("createdAt", "created_at", TaskResponse::createdAt),
+    UPDATED_AT("updatedAt", "updated_at", TaskResponse::updatedAt),
+    VERSION("version", "version", TaskResponse::version);
+
+    public static final Set<TaskField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TaskField.class));
+
+    private final String property;
+    private final String column;
+    private final Function<TaskResponse, Object> accessor;
+
+    TaskField(String property, String column, Function<TaskResponse, Object> accessor) {
+        this.property = property;
+        this.column = column;
+        this.accessor = accessor;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    public static Set<TaskField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        EnumSet<TaskField> selected = EnumSet.noneOf(TaskField.class);
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Campo desconocido: " + property)));
+        }
+        return selected;
+    }
+
+    public static Map<String, Object> select(TaskResponse task, Set<TaskField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            values.put(field.property, field.accessor.apply(task));
+        }
+        return values;
+    }
+}
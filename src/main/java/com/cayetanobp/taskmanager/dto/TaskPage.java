@@ -0,0 +1,12 @@
+package com.cayetanobp.taskmanager.dto;
+
+import java.util.List;
+
+public record TaskPage(
+        List<TaskResponse> items,
+        String next
+) {
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -13,7 +13,8 @@ public record TaskResponse(
         TaskStatus status,
         Priority priority,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        Long version
 ) {
     public static TaskResponse from(Task task) {
         return new TaskResponse(
@@ -23,7 +24,8 @@ public record TaskResponse(
                 task.getStatus(),
                 task.getPriority(),
                 task.getCreatedAt(),
-                task.getUpdatedAt()
+                task.getUpdatedAt(),
+                task.getVersion()
         );
     }
 }
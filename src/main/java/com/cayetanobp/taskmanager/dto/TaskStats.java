@@ -0,0 +1,11 @@
+package com.cayetanobp.taskmanager.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record TaskStats(
+        List<TaskCount> counts,
+        long total,
+        LocalDateTime reconciledAt
+) {
+}
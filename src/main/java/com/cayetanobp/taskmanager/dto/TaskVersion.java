@@ -0,0 +1,12 @@
+package com.cayetanobp.taskmanager.dto;
+
+/**
+ * Versión de una lista para su ETag: el mayor {@code change_seq} de las filas que cumplen el filtro
+ * y cuántas son. El número crece con cada commit que escribe una fila y el recuento cambia al
+ * borrar, así que cualquier escritura confirmada da otra versión.
+ */
+public record TaskVersion(
+        Long changeSeq,
+        Long count
+) {
+}
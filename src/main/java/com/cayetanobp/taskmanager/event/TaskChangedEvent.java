@@ -0,0 +1,75 @@
+package com.cayetanobp.taskmanager.event;
+
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+
+/**
+ * Cambio sobre una o varias tareas. {@code status} y {@code priority} son los valores que
+ * permiten filtrar el evento; {@code null} significa que afecta a cualquier valor.
+ * {@code previous} es el estado anterior de la tarea; {@code null} si no se conoce.
+ */
+public record TaskChangedEvent(
+        Type type,
+        Long taskId,
+        TaskResponse task,
+        TaskResponse previous,
+        TaskStatus status,
+        Priority priority
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        DELETED_MATCHING,
+        IMPORTED,
+        ARCHIVED
+    }
+
+    public static TaskChangedEvent created(TaskResponse task) {
+        return new TaskChangedEvent(Type.CREATED, task.id(), task, null, task.status(), task.priority());
+    }
+
+    public static TaskChangedEvent updated(TaskResponse task, TaskResponse previous) {
+        return new TaskChangedEvent(Type.UPDATED, task.id(), task, previous, task.status(), task.priority());
+    }
+
+    public static TaskChangedEvent deleted(Long id, TaskResponse previous) {
+        return new TaskChangedEvent(Type.DELETED, id, null, previous, null, null);
+    }
+
+    public static TaskChangedEvent deletedMatching(TaskStatus status, Priority priority) {
+        return new TaskChangedEvent(Type.DELETED_MATCHING, null, null, null, status, priority);
+    }
+
+    public static TaskChangedEvent imported() {
+        return new TaskChangedEvent(Type.IMPORTED, null, null, null, null, null);
+    }
+
+    public static TaskChangedEvent archived() {
+        return new TaskChangedEvent(Type.ARCHIVED, null, null, null, TaskStatus.DONE, null);
+    }
+
+    /**
+     * Interesa a un cliente filtrado si la tarea cumple el filtro ahora o lo cumplía antes: una
+     * modificación que la saca del filtro también se envía, para que el cliente la quite. Si no
+     * se conoce el estado anterior de una modificación, se envía por si acaso.
+     */
+    public boolean matches(TaskStatus statusFilter, Priority priorityFilter) {
+        if (matches(status, priority, statusFilter, priorityFilter)) {
+            return true;
+        }
+        if (type != Type.UPDATED) {
+            return false;
+        }
+        return previous == null
+                || matches(previous.status(), previous.priority(), statusFilter, priorityFilter);
+    }
+
+    private static boolean matches(TaskStatus status, Priority priority,
+                                   TaskStatus statusFilter, Priority priorityFilter) {
+        return (statusFilter == null || status == null || status == statusFilter)
+                && (priorityFilter == null || priority == null || priority == priorityFilter);
+    }
+}
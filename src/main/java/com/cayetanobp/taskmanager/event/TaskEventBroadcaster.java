@@ -0,0 +1,222 @@
+package com.cayetanobp.taskmanager.event;
+
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difunde los cambios confirmados a los clientes SSE. Guarda los últimos eventos en un
+ * buffer circular para reanudar desde {@code Last-Event-ID}; cada cliente tiene una cola
+ * acotada y se desconecta si se llena. Los envíos los hace un pool fijo de hilos con una cola
+ * también acotada: si no admite más envíos, el cliente se desconecta igual que si su cola se
+ * llenara. Cada turno envía como mucho {@link #SEND_BATCH} eventos para no acaparar un hilo.
+ */
+@Component
+public class TaskEventBroadcaster {
+
+    static final String RESET_EVENT = "reset";
+
+    private static final int SEND_BATCH = 32;
+
+    private static final Logger log = LoggerFactory.getLogger(TaskEventBroadcaster.class);
+
+    private final int bufferSize;
+    private final int clientQueueSize;
+    private final long timeoutMillis;
+    private final ArrayDeque<SequencedEvent> buffer;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final Counter dropped;
+    private long lastSequence;
+
+    @Autowired
+    public TaskEventBroadcaster(@Value("${task.events.buffer-size:1000}") int bufferSize,
+                                @Value("${task.events.client-queue-size:256}") int clientQueueSize,
+                                @Value("${task.events.timeout:30m}") Duration timeout,
+                                @Value("${task.events.sender-threads:4}") int senderThreads,
+                                @Value("${task.events.sender-queue-size:10000}") int senderQueueSize,
+                                MeterRegistry meterRegistry) {
+        this(bufferSize, clientQueueSize, timeout, senders(senderThreads, senderQueueSize), meterRegistry);
+    }
+
+    TaskEventBroadcaster(int bufferSize, int clientQueueSize, Duration timeout, ExecutorService senders,
+                         MeterRegistry meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.clientQueueSize = clientQueueSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.buffer = new ArrayDeque<>(bufferSize);
+        this.senders = senders;
+        this.dropped = Counter.builder("task.events.dropped")
+                .description("Clientes SSE desconectados por no consumir eventos a tiempo")
+                .register(meterRegistry);
+        meterRegistry.gauge("task.events.subscribers", subscribers, Set::size);
+    }
+
+    private static ExecutorService senders(int threads, int queueSize) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "task-events-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SseEmitter subscribe(TaskStatus status, Priority priority, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber;
+
+        synchronized (this) {
+            List<SequencedEvent> replay = new ArrayList<>();
+            boolean reset = false;
+            if (lastEventId != null) {
+                long oldest = buffer.isEmpty() ? lastSequence + 1 : buffer.peekFirst().sequence();
+                reset = lastEventId > lastSequence || lastEventId < oldest - 1;
+                if (!reset) {
+                    for (SequencedEvent event : buffer) {
+                        if (event.sequence() > lastEventId && event.event().matches(status, priority)) {
+                            replay.add(event);
+                        }
+                    }
+                }
+            }
+
+            subscriber = new Subscriber(emitter, status, priority,
+                    new ArrayBlockingQueue<>(clientQueueSize + replay.size() + 1));
+            if (reset) {
+                subscriber.queue.add(new SequencedEvent(lastSequence, null));
+            }
+            subscriber.queue.addAll(replay);
+            subscribers.add(subscriber);
+        }
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(ex -> subscribers.remove(subscriber));
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        // Se encola con el mismo bloqueo que numera y que usa subscribe(): así cada cola recibe
+        // los eventos en orden y un suscriptor nuevo no recibe uno que ya venía en su replay.
+        SequencedEvent sequenced = new SequencedEvent(++lastSequence, event);
+        if (buffer.size() == bufferSize) {
+            buffer.pollFirst();
+        }
+        buffer.addLast(sequenced);
+
+        for (Subscriber subscriber : subscribers) {
+            if (!event.matches(subscriber.status, subscriber.priority)) {
+                continue;
+            }
+            if (subscriber.queue.offer(sequenced)) {
+                subscriber.schedule();
+            } else {
+                drop(subscriber);
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            dropped.increment();
+            log.warn("Cliente SSE desconectado: {} eventos sin consumir", subscriber.queue.size());
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private record SequencedEvent(long sequence, TaskChangedEvent event) {
+
+        SseEmitter.SseEventBuilder toSse() {
+            SseEmitter.SseEventBuilder builder = SseEmitter.event().id(Long.toString(sequence));
+            if (event == null) {
+                return builder.name(RESET_EVENT).data("");
+            }
+            return builder.name(event.type().name().toLowerCase(Locale.ROOT))
+                    .data(event, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final TaskStatus status;
+        private final Priority priority;
+        private final Queue<SequencedEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, TaskStatus status, Priority priority, Queue<SequencedEvent> queue) {
+            this.emitter = emitter;
+            this.status = status;
+            this.priority = priority;
+            this.queue = queue;
+        }
+
+        private void schedule() {
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    draining.set(false);
+                    drop(this);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SequencedEvent next;
+                for (int sent = 0; sent < SEND_BATCH && (next = queue.poll()) != null; sent++) {
+                    emitter.send(next.toSse());
+                }
+            } catch (IOException | IllegalStateException ex) {
+                subscribers.remove(this);
+                emitter.completeWithError(ex);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.cayetanobp.taskmanager.exception;
+
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException() {
+        super("El token de sincronizacion es demasiado antiguo, vuelve a sincronizar sin 'since'");
+    }
+}
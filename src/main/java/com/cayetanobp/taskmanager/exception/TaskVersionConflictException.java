@@ -0,0 +1,8 @@
+package com.cayetanobp.taskmanager.exception;
+
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(Long id) {
+        super("La tarea con id " + id + " ha sido modificada por otra peticion");
+    }
+}
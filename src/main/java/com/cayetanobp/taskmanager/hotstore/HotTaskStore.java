@@ -0,0 +1,734 @@
+package com.cayetanobp.taskmanager.hotstore;
+
+import com.cayetanobp.taskmanager.dto.TaskCursor;
+import com.cayetanobp.taskmanager.dto.TaskPage;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskVersion;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Copia en memoria de las tareas abiertas ({@code status != DONE}) en columnas de arrays
+ * primitivos: ids en {@code long[]}, estado y prioridad como ordinal en {@code byte[]}, fechas
+ * como microsegundos en {@code long[]} y textos codificados en un {@link StringDictionary}.
+ * Una tarea ocupa unos 70 bytes más sus textos, frente a varios cientos como objetos.
+ *
+ * <p>Cada valor de estado y de prioridad tiene además un {@link SlotBitmap} sobre las filas: un
+ * recuento es un AND de dos bitmaps con {@code bitCount}, y una página filtrada salta 64 filas
+ * que no cumplen el filtro con una sola comparación antes de construir ninguna respuesta.
+ *
+ * <p>Las filas se añaden al final y nunca se reutilizan; al borrar o cerrar una tarea su fila
+ * queda marcada como muerta y el espacio se recupera compactando cuando las muertas superan a
+ * las vivas. Casi todas las tareas llegan en orden de {@code (createdAt, id)}, el de la paginación
+ * por cursor de la API, así que el número de fila ya es ese orden y una página recorre los bitmaps
+ * tal cual. Las que llegan fuera de orden (commits cruzados, tareas de otros nodos en un repaso) se
+ * marcan en {@code lateBits} y se apuntan en {@code lateOrder}, una lista corta ordenada que la
+ * página mezcla con el recorrido; cuando pasan de una por cada 64 filas vivas se compacta y cada
+ * fila vuelve a su sitio.
+ */
+public class HotTaskStore {
+
+    private static final byte DEAD = -1;
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final int MIN_COMPACTION = 1024;
+    private static final int MIN_LATE = 256;
+
+    private final int initialCapacity;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private StringDictionary strings = new StringDictionary();
+
+    private LongIntHashMap slots;
+    private long[] ids;
+    private byte[] statuses;
+    private byte[] priorities;
+    private long[] createdAt;
+    private long[] updatedAt;
+    private long[] versions;
+    private int[] titles;
+    private int[] descriptions;
+    private SlotBitmap[] statusBits;
+    private SlotBitmap[] priorityBits;
+    /** Filas añadidas fuera de orden: su clave es anterior a la de alguna fila añadida antes. */
+    private SlotBitmap lateBits;
+    /** Las filas de {@code lateBits}, ordenadas por {@code (createdAt, id)} salvo durante una carga. */
+    private int[] lateOrder;
+    private int lateCount;
+    private boolean lateSorted;
+    /** Última fila añadida en orden; la siguiente en orden debe tener una clave mayor. */
+    private int lastInOrder;
+    /**
+     * Última escritura que ha entrado, salido o cambiado en cada celda estado × prioridad, tomada de
+     * {@link #changes}. Solo crece, así que la versión cambia con cualquier escritura aunque las
+     * fechas de otros nodos lleguen desordenadas.
+     */
+    private long[] cellChanges;
+    /**
+     * Contador de escrituras aplicadas. Empieza en un valor aleatorio para que dos nodos, o el mismo
+     * tras reiniciar, no den la misma versión a datos distintos.
+     */
+    private long changes = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE / 2);
+    private int size;
+    private int live;
+
+    private volatile boolean ready;
+    /**
+     * Inicio (epoch ms) de la última carga o repaso completados: el almacén tiene todas las
+     * escrituras confirmadas antes, también las de otros nodos.
+     */
+    private volatile long caughtUpTo = Long.MIN_VALUE;
+    /** Inicio de la carga o el repaso en curso. */
+    private long startedAt;
+    /** Ids quitados durante una carga o un repaso: las filas que traiga la lectura no los reviven. */
+    private Set<Long> removedWhileLoading;
+    /** Ids vistos en el repaso en curso, leídos o escritos; los demás se quitan al terminar. */
+    private LongIntHashMap seenWhileRefreshing;
+
+    public HotTaskStore(int initialCapacity) {
+        this.initialCapacity = Math.max(16, initialCapacity);
+        allocate(this.initialCapacity);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * El almacén ya refleja una escritura confirmada en {@code writtenAt} (epoch ms), como la de un
+     * {@code ReadConsistency} token, aunque se hiciera en otro nodo y no llegara como evento.
+     */
+    public boolean covers(long writtenAt) {
+        return ready && writtenAt <= caughtUpTo;
+    }
+
+    /**
+     * Devuelve la tarea si está abierta y en memoria; {@code null} si hay que preguntar a la base
+     * de datos (cerrada, inexistente o el almacén aún se está cargando).
+     */
+    public TaskResponse findById(Long id) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int slot = slots.get(id);
+            return slot == LongIntHashMap.MISSING ? null : toResponse(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Página ordenada por {@code (createdAt, id)}. Solo puede responder si el filtro de estado
+     * excluye {@code DONE}; en otro caso devuelve {@code null}.
+     */
+    public TaskPage findAll(TaskStatus status, Priority priority, TaskCursor after, int limit) {
+        if (!ready || status == null || status == TaskStatus.DONE) {
+            return null;
+        }
+        byte wantedStatus = (byte) status.ordinal();
+        byte wantedPriority = priority != null ? (byte) priority.ordinal() : DEAD;
+
+        lock.readLock().lock();
+        try {
+            List<TaskResponse> items = new ArrayList<>(Math.min(limit + 1, 1024));
+            int start = 0;
+            int lateStart = 0;
+            if (after != null) {
+                long created = micros(after.createdAt());
+                start = firstAfter(created, after.id());
+                lateStart = firstLateAfter(created, after.id());
+            }
+            collect(statusBits[wantedStatus], wantedPriority == DEAD ? null : priorityBits[wantedPriority],
+                    start, lateStart, limit + 1, items);
+            if (items.size() > limit) {
+                List<TaskResponse> page = items.subList(0, limit);
+                return new TaskPage(page, TaskCursor.after(page.get(limit - 1)).encode());
+            }
+            return new TaskPage(items, null);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de tareas con ese estado y, si se indica, esa prioridad; {@code -1} si el almacén no
+     * puede responder (no está listo o el filtro incluye tareas {@code DONE}).
+     */
+    public long count(TaskStatus status, Priority priority) {
+        if (!ready || status == null || status == TaskStatus.DONE) {
+            return -1;
+        }
+        lock.readLock().lock();
+        try {
+            return SlotBitmap.countAnd(statusBits[status.ordinal()],
+                    priority != null ? priorityBits[priority.ordinal()] : null, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Versión de los datos para el ETag de una lista, con las mismas condiciones que
+     * {@link #findAll}; {@code null} si no puede responder. Se calcula con los recuentos de los
+     * bitmaps y la última escritura de cada celda, sin recorrer filas. No coincide con la de la
+     * base de datos: el almacén no conoce {@code change_seq}.
+     */
+    public TaskVersion version(TaskStatus status, Priority priority) {
+        if (!ready || status == null || status == TaskStatus.DONE) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            long last = 0;
+            for (Priority cell : PRIORITIES) {
+                if (priority == null || cell == priority) {
+                    last = Math.max(last, cellChanges[cell(status.ordinal(), cell.ordinal())]);
+                }
+            }
+            long count = SlotBitmap.countAnd(statusBits[status.ordinal()],
+                    priority != null ? priorityBits[priority.ordinal()] : null, size);
+            return new TaskVersion(last, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mezcla en orden las filas en orden desde {@code start} con las de {@code lateOrder} desde
+     * {@code lateStart}, y solo hidrata las que cumplen los filtros.
+     */
+    private void collect(SlotBitmap status, SlotBitmap priority, int start, int lateStart, int wanted,
+                         List<TaskResponse> items) {
+        int slot = nextInOrder(status, priority, start);
+        int late = nextLate(status, priority, lateStart);
+        while (items.size() < wanted && (slot >= 0 || late < lateCount)) {
+            if (late == lateCount || (slot >= 0 && compare(slot, lateOrder[late]) < 0)) {
+                items.add(toResponse(slot));
+                slot = nextInOrder(status, priority, slot + 1);
+            } else {
+                items.add(toResponse(lateOrder[late]));
+                late = nextLate(status, priority, late + 1);
+            }
+        }
+    }
+
+    /**
+     * Primera fila en orden desde {@code from} que cumple los filtros, o {@code -1}. Cada
+     * {@code long} es el AND de los filtros para 64 filas, así que las que no los cumplen se saltan
+     * sin mirarlas.
+     */
+    private int nextInOrder(SlotBitmap status, SlotBitmap priority, int from) {
+        for (int w = from >>> 6, words = SlotBitmap.wordsFor(size); w < words; w++) {
+            long word = status.word(w) & (priority != null ? priority.word(w) : SlotBitmap.ALL) & ~lateBits.word(w);
+            if (w == from >>> 6) {
+                word &= SlotBitmap.ALL << (from & 63);
+            }
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return -1;
+    }
+
+    /** Primera posición de {@code lateOrder} desde {@code from} que cumple los filtros. */
+    private int nextLate(SlotBitmap status, SlotBitmap priority, int from) {
+        for (int i = from; i < lateCount; i++) {
+            int slot = lateOrder[i];
+            if (status.get(slot) && (priority == null || priority.get(slot))) {
+                return i;
+            }
+        }
+        return lateCount;
+    }
+
+    /**
+     * Aplica una escritura confirmada: inserta o actualiza la tarea si está abierta y la quita si
+     * se ha cerrado.
+     */
+    public void apply(TaskResponse task) {
+        lock.writeLock().lock();
+        try {
+            if (seenWhileRefreshing != null) {
+                seenWhileRefreshing.put(task.id(), 0);
+            }
+            upsert(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMatching(TaskStatus status, Priority priority) {
+        lock.writeLock().lock();
+        try {
+            // Se recogen primero los ids: quitar filas puede compactar y mover las demás.
+            long[] matching = new long[live];
+            int count = 0;
+            for (int slot = 0; slot < size; slot++) {
+                if (statuses[slot] != DEAD
+                        && (status == null || statuses[slot] == status.ordinal())
+                        && (priority == null || priorities[slot] == priority.ordinal())) {
+                    matching[count++] = ids[slot];
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                removeSlot(matching[i]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el almacén y empieza una carga. Las escrituras que lleguen mientras tanto se aplican
+     * normalmente y tienen prioridad sobre las filas que traiga la carga.
+     */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            startedAt = System.currentTimeMillis();
+            strings = new StringDictionary();
+            allocate(initialCapacity);
+            removedWhileLoading = new HashSet<>();
+            seenWhileRefreshing = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void load(TaskResponse task) {
+        lock.writeLock().lock();
+        try {
+            if (slots.get(task.id()) == LongIntHashMap.MISSING && !removedWhileLoading.contains(task.id())) {
+                upsert(task);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void finishLoad() {
+        lock.writeLock().lock();
+        try {
+            removedWhileLoading = null;
+            // La carga trae primero las PENDING y luego las IN_PROGRESS; se reordena una vez.
+            if (lateCount > 0) {
+                compact();
+            }
+            caughtUpTo = startedAt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empieza un repaso contra la base de datos sin dejar de responder: recoge los cambios que no
+     * llegaron como evento (los de otros nodos). {@code false} si el almacén aún se está cargando.
+     */
+    public boolean beginRefresh() {
+        lock.writeLock().lock();
+        try {
+            if (!ready || removedWhileLoading != null) {
+                return false;
+            }
+            startedAt = System.currentTimeMillis();
+            removedWhileLoading = new HashSet<>();
+            seenWhileRefreshing = new LongIntHashMap(Math.max(16, live * 2));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Aplica una tarea abierta leída en el repaso. Como en {@link #apply}, una versión anterior a
+     * la que ya hay no la sustituye.
+     */
+    public void refresh(TaskResponse task) {
+        lock.writeLock().lock();
+        try {
+            if (!removedWhileLoading.contains(task.id())) {
+                seenWhileRefreshing.put(task.id(), 0);
+                upsert(task);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Termina el repaso quitando las tareas que ya no están abiertas en la base de datos y que
+     * nadie ha escrito mientras tanto. Devuelve cuántas se han quitado.
+     */
+    public int finishRefresh() {
+        lock.writeLock().lock();
+        try {
+            long[] gone = new long[live];
+            int count = 0;
+            for (int slot = 0; slot < size; slot++) {
+                if (statuses[slot] != DEAD && seenWhileRefreshing.get(ids[slot]) == LongIntHashMap.MISSING) {
+                    gone[count++] = ids[slot];
+                }
+            }
+            cancelRefresh();
+            for (int i = 0; i < count; i++) {
+                removeSlot(gone[i]);
+            }
+            caughtUpTo = startedAt;
+            return count;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Abandona el repaso sin quitar nada, por ejemplo si falla la lectura. */
+    public void cancelRefresh() {
+        lock.writeLock().lock();
+        try {
+            removedWhileLoading = null;
+            seenWhileRefreshing = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return live;
+    }
+
+    /**
+     * Memoria aproximada: columnas (según su capacidad, no su ocupación), índice por id y
+     * diccionario de textos.
+     */
+    public long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            long perRow = Long.BYTES * 4L + 2 + Integer.BYTES * 2L;
+            long bitmaps = lateBits.estimatedBytes() + (long) lateOrder.length * Integer.BYTES;
+            for (SlotBitmap bitmap : statusBits) {
+                bitmaps += bitmap.estimatedBytes();
+            }
+            for (SlotBitmap bitmap : priorityBits) {
+                bitmaps += bitmap.estimatedBytes();
+            }
+            return ids.length * perRow + bitmaps + slots.estimatedBytes() + strings.estimatedBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(TaskResponse task) {
+        if (task.status() == TaskStatus.DONE) {
+            removeSlot(task.id());
+            return;
+        }
+        int slot = slots.get(task.id());
+        if (slot == LongIntHashMap.MISSING) {
+            slot = append(task);
+        } else if (task.version() != null && versions[slot] > task.version()) {
+            // Los eventos de dos commits casi simultáneos pueden llegar cruzados.
+            return;
+        } else {
+            strings.release(titles[slot]);
+            strings.release(descriptions[slot]);
+            statusBits[statuses[slot]].clear(slot);
+            priorityBits[priorities[slot]].clear(slot);
+            cellChanges[cell(statuses[slot], priorities[slot])] = ++changes;
+        }
+        statuses[slot] = (byte) task.status().ordinal();
+        priorities[slot] = (byte) task.priority().ordinal();
+        statusBits[statuses[slot]].set(slot);
+        priorityBits[priorities[slot]].set(slot);
+        updatedAt[slot] = micros(task.updatedAt());
+        cellChanges[cell(statuses[slot], priorities[slot])] = ++changes;
+        versions[slot] = task.version() != null ? task.version() : 0L;
+        titles[slot] = strings.acquire(task.title());
+        descriptions[slot] = strings.acquire(task.description());
+        // Durante una carga se espera a finishLoad, que compacta una sola vez.
+        if (ready && lateCount > Math.max(MIN_LATE, live >>> 6)) {
+            compact();
+        }
+    }
+
+    private int append(TaskResponse task) {
+        if (size == ids.length) {
+            grow(ids.length * 2);
+        }
+        int slot = size;
+        ids[slot] = task.id();
+        createdAt[slot] = micros(task.createdAt());
+        slots.put(task.id(), slot);
+        size++;
+        live++;
+        // Casi siempre la tarea nueva es la más reciente y ya queda en orden.
+        if (lastInOrder < 0 || compare(slot, lastInOrder) > 0) {
+            lastInOrder = slot;
+        } else {
+            addLate(slot);
+        }
+        return slot;
+    }
+
+    private void addLate(int slot) {
+        lateBits.set(slot);
+        if (lateCount == lateOrder.length) {
+            lateOrder = Arrays.copyOf(lateOrder, lateOrder.length * 2);
+        }
+        if (ready && lateSorted) {
+            int position = firstLateAfter(createdAt[slot], ids[slot]);
+            System.arraycopy(lateOrder, position, lateOrder, position + 1, lateCount - position);
+            lateOrder[position] = slot;
+        } else {
+            // Una carga trae miles de filas fuera de orden: se ordenan una vez al compactar.
+            lateOrder[lateCount] = slot;
+            lateSorted = false;
+        }
+        lateCount++;
+    }
+
+    private void removeSlot(long id) {
+        // Se anota aunque la fila aún no esté cargada: es justo el caso en que load() la traería.
+        if (removedWhileLoading != null) {
+            removedWhileLoading.add(id);
+        }
+        int slot = slots.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return;
+        }
+        statusBits[statuses[slot]].clear(slot);
+        priorityBits[priorities[slot]].clear(slot);
+        cellChanges[cell(statuses[slot], priorities[slot])] = ++changes;
+        statuses[slot] = DEAD;
+        strings.release(titles[slot]);
+        strings.release(descriptions[slot]);
+        titles[slot] = StringDictionary.NULL;
+        descriptions[slot] = StringDictionary.NULL;
+        live--;
+        if (size - live > Math.max(live, MIN_COMPACTION)) {
+            compact();
+        }
+    }
+
+    /**
+     * Primera fila en orden posterior a {@code (created, id)}. Las filas muertas conservan su
+     * clave, y una fila fuera de orden cuenta con la de la fila en orden anterior, así que la
+     * búsqueda binaria sigue siendo válida.
+     */
+    private int firstAfter(long created, long id) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int probe = mid;
+            while (probe >= 0 && lateBits.get(probe)) {
+                probe--;
+            }
+            if (probe < 0 || compare(probe, created, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Primera posición de {@code lateOrder} posterior a {@code (created, id)}. */
+    private int firstLateAfter(long created, long id) {
+        int low = 0;
+        int high = lateCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(lateOrder[mid], created, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int slot, long created, long id) {
+        return createdAt[slot] != created
+                ? Long.compare(createdAt[slot], created)
+                : Long.compare(ids[slot], id);
+    }
+
+    private int compare(int slot, int other) {
+        return compare(slot, createdAt[other], ids[other]);
+    }
+
+    /** Filas vivas en orden: las filas en orden mezcladas con {@code lateOrder}. */
+    private int[] liveInOrder() {
+        if (!lateSorted) {
+            lateOrder = Arrays.stream(lateOrder, 0, lateCount)
+                    .boxed()
+                    .sorted(this::compare)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            lateSorted = true;
+        }
+        int[] inOrder = new int[live];
+        int count = 0;
+        int late = 0;
+        for (int slot = 0; slot < size; slot++) {
+            if (lateBits.get(slot)) {
+                continue;
+            }
+            for (; late < lateCount && compare(lateOrder[late], slot) < 0; late++) {
+                if (statuses[lateOrder[late]] != DEAD) {
+                    inOrder[count++] = lateOrder[late];
+                }
+            }
+            if (statuses[slot] != DEAD) {
+                inOrder[count++] = slot;
+            }
+        }
+        for (; late < lateCount; late++) {
+            if (statuses[lateOrder[late]] != DEAD) {
+                inOrder[count++] = lateOrder[late];
+            }
+        }
+        return inOrder;
+    }
+
+    private void compact() {
+        int capacity = Math.max(16, live * 2);
+        long[] newIds = new long[capacity];
+        byte[] newStatuses = new byte[capacity];
+        byte[] newPriorities = new byte[capacity];
+        long[] newCreatedAt = new long[capacity];
+        long[] newUpdatedAt = new long[capacity];
+        long[] newVersions = new long[capacity];
+        int[] newTitles = new int[capacity];
+        int[] newDescriptions = new int[capacity];
+        LongIntHashMap newSlots = new LongIntHashMap(capacity);
+
+        int next = 0;
+        for (int slot : liveInOrder()) {
+            newIds[next] = ids[slot];
+            newStatuses[next] = statuses[slot];
+            newPriorities[next] = priorities[slot];
+            newCreatedAt[next] = createdAt[slot];
+            newUpdatedAt[next] = updatedAt[slot];
+            newVersions[next] = versions[slot];
+            newTitles[next] = titles[slot];
+            newDescriptions[next] = descriptions[slot];
+            newSlots.put(ids[slot], next);
+            next++;
+        }
+
+        ids = newIds;
+        statuses = newStatuses;
+        priorities = newPriorities;
+        createdAt = newCreatedAt;
+        updatedAt = newUpdatedAt;
+        versions = newVersions;
+        titles = newTitles;
+        descriptions = newDescriptions;
+        slots = newSlots;
+        allocateBitmaps(capacity);
+        for (int i = 0; i < next; i++) {
+            statusBits[statuses[i]].set(i);
+            priorityBits[priorities[i]].set(i);
+        }
+        size = next;
+        live = next;
+        lastInOrder = next - 1;
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        statuses = new byte[capacity];
+        priorities = new byte[capacity];
+        createdAt = new long[capacity];
+        updatedAt = new long[capacity];
+        versions = new long[capacity];
+        titles = new int[capacity];
+        descriptions = new int[capacity];
+        slots = new LongIntHashMap(capacity);
+        allocateBitmaps(capacity);
+        cellChanges = new long[STATUSES.length * PRIORITIES.length];
+        size = 0;
+        live = 0;
+        lastInOrder = -1;
+    }
+
+    private static int cell(int status, int priority) {
+        return status * PRIORITIES.length + priority;
+    }
+
+    private void allocateBitmaps(int capacity) {
+        statusBits = new SlotBitmap[STATUSES.length];
+        for (int i = 0; i < statusBits.length; i++) {
+            statusBits[i] = new SlotBitmap(capacity);
+        }
+        priorityBits = new SlotBitmap[PRIORITIES.length];
+        for (int i = 0; i < priorityBits.length; i++) {
+            priorityBits[i] = new SlotBitmap(capacity);
+        }
+        lateBits = new SlotBitmap(capacity);
+        lateOrder = new int[16];
+        lateCount = 0;
+        lateSorted = true;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        updatedAt = Arrays.copyOf(updatedAt, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        descriptions = Arrays.copyOf(descriptions, capacity);
+        lateBits.grow(capacity);
+        for (SlotBitmap bitmap : statusBits) {
+            bitmap.grow(capacity);
+        }
+        for (SlotBitmap bitmap : priorityBits) {
+            bitmap.grow(capacity);
+        }
+    }
+
+    private TaskResponse toResponse(int slot) {
+        return new TaskResponse(
+                ids[slot],
+                strings.get(titles[slot]),
+                strings.get(descriptions[slot]),
+                STATUSES[statuses[slot]],
+                PRIORITIES[priorities[slot]],
+                dateTime(createdAt[slot]),
+                dateTime(updatedAt[slot]),
+                versions[slot]);
+    }
+
+    private static long micros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime dateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,26 @@
+package com.cayetanobp.taskmanager.hotstore;
+
+import com.cayetanobp.taskmanager.repository.TaskJdbcRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+@ConditionalOnProperty(name = "task.hot-store.enabled", havingValue = "true")
+public class HotTaskStoreConfig {
+
+    @Bean
+    public HotTaskStore hotTaskStore(@Value("${task.hot-store.initial-capacity:100000}") int initialCapacity) {
+        return new HotTaskStore(initialCapacity);
+    }
+
+    @Bean
+    public HotTaskStoreLoader hotTaskStoreLoader(HotTaskStore store, TaskJdbcRepository jdbcRepository,
+                                                 PlatformTransactionManager transactionManager,
+                                                 MeterRegistry meterRegistry) {
+        return new HotTaskStoreLoader(store, jdbcRepository, transactionManager, meterRegistry);
+    }
+}
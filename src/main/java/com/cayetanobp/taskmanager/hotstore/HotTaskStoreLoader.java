@@ -0,0 +1,123 @@
+package com.cayetanobp.taskmanager.hotstore;
+
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.repository.TaskJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Carga {@link HotTaskStore} al arrancar, en segundo plano, y lo mantiene al día con los
+ * {@link TaskChangedEvent} confirmados. Mientras carga, las lecturas van a la base de datos.
+ *
+ * <p>Los eventos solo llegan de las escrituras de este nodo. Cada
+ * {@code task.hot-store.refresh-interval-ms} se repasan las tareas abiertas de la base de datos
+ * para recoger las de otros nodos o de fuera de la aplicación; hasta entonces, el almacén puede
+ * ir por detrás de ellas.
+ */
+public class HotTaskStoreLoader implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(HotTaskStoreLoader.class);
+
+    private final HotTaskStore store;
+    private final TaskJdbcRepository jdbcRepository;
+    /**
+     * No se marca de solo lectura a propósito: con réplicas, la carga iría a una que puede no
+     * tener escrituras ya confirmadas, y los eventos de esas escrituras ya no volverán a llegar.
+     */
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "hot-store-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public HotTaskStoreLoader(HotTaskStore store, TaskJdbcRepository jdbcRepository,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.jdbcRepository = jdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("task.hotstore.tasks", store, HotTaskStore::size)
+                .description("Tareas abiertas en memoria")
+                .register(meterRegistry);
+        Gauge.builder("task.hotstore.bytes", store, HotTaskStore::estimatedBytes)
+                .description("Memoria aproximada del almacen de tareas abiertas")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        loader.submit(this::load);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED -> store.apply(event.task());
+            case DELETED -> store.remove(event.taskId());
+            case DELETED_MATCHING -> store.removeMatching(event.status(), event.priority());
+            case IMPORTED -> loader.submit(this::load);
+            case ARCHIVED -> {
+                // Solo se archivan tareas DONE, que no están en memoria.
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.hot-store.refresh-interval-ms:60000}",
+            initialDelayString = "${task.hot-store.refresh-interval-ms:60000}")
+    public void scheduleRefresh() {
+        loader.submit(this::refresh);
+    }
+
+    void refresh() {
+        if (!store.beginRefresh()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcRepository.stream(TaskStatus.PENDING, null, store::refresh);
+                jdbcRepository.stream(TaskStatus.IN_PROGRESS, null, store::refresh);
+            });
+            int removed = store.finishRefresh();
+            if (removed > 0) {
+                log.info("Almacen de tareas abiertas repasado: {} tareas ya cerradas o borradas", removed);
+            }
+        } catch (RuntimeException ex) {
+            store.cancelRefresh();
+            log.warn("No se pudo repasar el almacen de tareas abiertas", ex);
+        }
+    }
+
+    void load() {
+        long started = System.nanoTime();
+        store.beginLoad();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcRepository.stream(TaskStatus.PENDING, null, store::load);
+                jdbcRepository.stream(TaskStatus.IN_PROGRESS, null, store::load);
+            });
+            store.finishLoad();
+            log.info("Almacen de tareas abiertas cargado: {} tareas, ~{} KB en {} ms",
+                    store.size(), store.estimatedBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException ex) {
+            log.error("No se pudo cargar el almacen de tareas abiertas; las lecturas seguiran yendo a la base de datos", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        loader.shutdownNow();
+    }
+}
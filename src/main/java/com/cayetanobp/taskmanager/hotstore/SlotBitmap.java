@@ -0,0 +1,63 @@
+package com.cayetanobp.taskmanager.hotstore;
+
+import java.util.Arrays;
+
+/**
+ * Bitmap sin comprimir sobre las filas de {@link HotTaskStore}: el bit {@code i} indica que la
+ * fila {@code i} tiene el valor indexado. Con nueve combinaciones de estado y prioridad cada
+ * bitmap es denso, así que un {@code long[]} plano ocupa menos y se recorre más rápido que un
+ * formato comprimido. No es seguro para hilos.
+ */
+final class SlotBitmap {
+
+    /** Palabra neutra para un AND con un filtro ausente. */
+    static final long ALL = -1L;
+
+    private long[] words;
+
+    SlotBitmap(int capacity) {
+        words = new long[wordsFor(capacity)];
+    }
+
+    void set(int slot) {
+        words[slot >>> 6] |= 1L << slot;
+    }
+
+    void clear(int slot) {
+        words[slot >>> 6] &= ~(1L << slot);
+    }
+
+    boolean get(int slot) {
+        return (words[slot >>> 6] & (1L << slot)) != 0;
+    }
+
+    long word(int index) {
+        return words[index];
+    }
+
+    void grow(int capacity) {
+        int needed = wordsFor(capacity);
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, needed);
+        }
+    }
+
+    long estimatedBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    static int wordsFor(int capacity) {
+        return (capacity + 63) >>> 6;
+    }
+
+    /**
+     * Número de filas presentes en {@code a} y, si no es nulo, en {@code b}, hasta {@code size}.
+     */
+    static long countAnd(SlotBitmap a, SlotBitmap b, int size) {
+        long count = 0;
+        for (int w = 0, words = wordsFor(size); w < words; w++) {
+            count += Long.bitCount(a.words[w] & (b != null ? b.words[w] : ALL));
+        }
+        return count;
+    }
+}
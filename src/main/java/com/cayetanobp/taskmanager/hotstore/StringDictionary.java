@@ -0,0 +1,72 @@
+package com.cayetanobp.taskmanager.hotstore;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Codifica textos repetidos (títulos como "Revisar PR", descripciones vacías...) como un entero.
+ * Cuenta referencias para liberar el texto cuando ninguna tarea lo usa y reutilizar su código.
+ */
+final class StringDictionary {
+
+    static final int NULL = -1;
+
+    /** Cabecera de String + array, más la entrada del HashMap, aproximadas para una JVM de 64 bits. */
+    private static final int OVERHEAD_BYTES = 40 + 48;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[1024];
+    private int[] refs = new int[1024];
+    private int[] free = new int[64];
+    private int freeCount;
+    private int next;
+    private long bytes;
+
+    int acquire(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer existing = codes.get(value);
+        if (existing != null) {
+            refs[existing]++;
+            return existing;
+        }
+        int code = freeCount > 0 ? free[--freeCount] : next++;
+        if (code >= values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+            refs = Arrays.copyOf(refs, refs.length * 2);
+        }
+        values[code] = value;
+        refs[code] = 1;
+        codes.put(value, code);
+        bytes += OVERHEAD_BYTES + value.length();
+        return code;
+    }
+
+    void release(int code) {
+        if (code == NULL || --refs[code] > 0) {
+            return;
+        }
+        String value = values[code];
+        codes.remove(value);
+        values[code] = null;
+        bytes -= OVERHEAD_BYTES + value.length();
+        if (freeCount == free.length) {
+            free = Arrays.copyOf(free, free.length * 2);
+        }
+        free[freeCount++] = code;
+    }
+
+    String get(int code) {
+        return code == NULL ? null : values[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    long estimatedBytes() {
+        return bytes + (long) values.length * (Integer.BYTES + Integer.BYTES);
+    }
+}
@@ -0,0 +1,89 @@
+package com.cayetanobp.taskmanager.metrics;
+
+import com.cayetanobp.taskmanager.config.ConcurrencyLimitingDataSource;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    static QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    /**
+     * Se ordena después del enrutado a réplicas, para contar también sus sentencias, y antes que el
+     * limitador de concurrencia, que no lleva orden y queda por fuera.
+     */
+    @Bean
+    static BeanPostProcessor queryCountingDataSource(ObjectProvider<QueryCounter> queryCounter) {
+        return new QueryCountingPostProcessor(queryCounter);
+    }
+
+    @Bean
+    public QueryCountFilter queryCountFilter(QueryCounter queryCounter, MeterRegistry meterRegistry,
+                                             @Value("${task.metrics.query-warn-threshold:10}") int warnThreshold) {
+        return new QueryCountFilter(queryCounter, meterRegistry, warnThreshold);
+    }
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public MeterBinder dataSourceConcurrencyMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitingDataSource limiter = unwrapLimiter(dataSource);
+            if (limiter == null) {
+                return;
+            }
+            Gauge.builder("task.datasource.permits.available", limiter, ConcurrencyLimitingDataSource::availablePermits)
+                    .description("Permisos libres del limitador de conexiones")
+                    .register(registry);
+            Gauge.builder("task.datasource.permits.waiting", limiter, ConcurrencyLimitingDataSource::waitingThreads)
+                    .description("Hilos esperando un permiso del limitador de conexiones")
+                    .register(registry);
+        };
+    }
+
+    private record QueryCountingPostProcessor(ObjectProvider<QueryCounter> queryCounter)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                    || bean instanceof QueryCountingDataSource) {
+                return bean;
+            }
+            return new QueryCountingDataSource(dataSource, queryCounter.getObject());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+
+    private static ConcurrencyLimitingDataSource unwrapLimiter(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ConcurrencyLimitingDataSource.class)
+                    ? dataSource.unwrap(ConcurrencyLimitingDataSource.class)
+                    : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
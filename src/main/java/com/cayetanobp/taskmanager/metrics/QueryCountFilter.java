@@ -0,0 +1,48 @@
+package com.cayetanobp.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final QueryCounter counter;
+    private final DistributionSummary queriesPerRequest;
+    private final int warnThreshold;
+
+    public QueryCountFilter(QueryCounter counter, MeterRegistry meterRegistry, int warnThreshold) {
+        this.counter = counter;
+        this.warnThreshold = warnThreshold;
+        this.queriesPerRequest = DistributionSummary.builder("task.request.queries")
+                .description("Sentencias SQL ejecutadas por peticion HTTP")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        counter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int queries = counter.current();
+            counter.clear();
+            queriesPerRequest.record(queries);
+            if (queries > warnThreshold) {
+                log.warn("{} {} ejecuto {} sentencias SQL (umbral {})",
+                        request.getMethod(), request.getRequestURI(), queries, warnThreshold);
+            }
+        }
+    }
+}
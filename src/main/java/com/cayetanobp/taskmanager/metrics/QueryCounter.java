@@ -0,0 +1,26 @@
+package com.cayetanobp.taskmanager.metrics;
+
+/**
+ * Sentencias SQL ejecutadas por el hilo actual. Lo alimenta {@link QueryCountingDataSource}, así
+ * que cuenta por igual lo que lanzan Hibernate, {@code JdbcTemplate} y el JDBC directo.
+ */
+public class QueryCounter {
+
+    private final ThreadLocal<int[]> count = ThreadLocal.withInitial(() -> new int[1]);
+
+    void increment() {
+        count.get()[0]++;
+    }
+
+    public void reset() {
+        count.get()[0] = 0;
+    }
+
+    public int current() {
+        return count.get()[0];
+    }
+
+    public void clear() {
+        count.remove();
+    }
+}
@@ -0,0 +1,36 @@
+package com.cayetanobp.taskmanager.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la tabla outbox. Solo define el esquema: se escribe y se consume por JDBC
+ * desde {@code com.cayetanobp.taskmanager.outbox}.
+ */
+@Entity
+@Table(name = "task_outbox")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public Long getId() { return id; }
+    public String getEventType() { return eventType; }
+    public Long getTaskId() { return taskId; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
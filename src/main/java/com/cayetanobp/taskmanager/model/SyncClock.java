@@ -0,0 +1,27 @@
+package com.cayetanobp.taskmanager.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Estado compartido de {@code GET /api/tasks/changes}: una sola fila con {@code pruned_seq}, el
+ * último número de cambio cuyas marcas de borrado se han purgado. Solo la escribe la purga; los
+ * números de cambio salen de la secuencia {@code task_change_seq}.
+ */
+@Entity
+@Table(name = "task_sync_clock")
+public class SyncClock {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id = ID;
+
+    @Column(name = "pruned_seq", nullable = false)
+    private long prunedSeq;
+
+    public Integer getId() { return id; }
+    public long getPrunedSeq() { return prunedSeq; }
+}
@@ -1,14 +1,24 @@
 package com.cayetanobp.taskmanager.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_tasks_change_seq_id", columnList = "change_seq, id"),
+        @Index(name = "idx_tasks_status_created_at", columnList = "status, created_at, id"),
+        @Index(name = "idx_tasks_priority_created_at", columnList = "priority, created_at, id"),
+        @Index(name = "idx_tasks_status_priority_created_at", columnList = "status, priority, created_at, id")
+})
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false, length = 120)
@@ -31,15 +41,26 @@ public class Task {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /** Número de cambio ({@code task_change_seq}) que se asigna al confirmar; {@code NULL} hasta entonces. */
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
     @PrePersist
     void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = createdAt;
+        changeSeq = null;
     }
 
     @PreUpdate
     void onUpdate() {
         updatedAt = LocalDateTime.now();
+        changeSeq = null;
     }
 
     public Long getId() { return id; }
@@ -59,4 +80,5 @@ public class Task {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getVersion() { return version; }
 }
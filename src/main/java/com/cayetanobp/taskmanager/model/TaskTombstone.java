@@ -0,0 +1,31 @@
+package com.cayetanobp.taskmanager.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marca de una tarea borrada, para que {@code GET /api/tasks/changes} pueda informar del borrado
+ * a los clientes que sincronizan por diferencias. Se purga tras {@code task.changes.tombstone-retention}.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+        @Index(name = "idx_task_tombstones_deleted_at_id", columnList = "deleted_at, task_id"),
+        @Index(name = "idx_task_tombstones_change_seq_id", columnList = "change_seq, task_id")
+})
+public class TaskTombstone {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    @Column(name = "change_seq")
+    private Long changeSeq;
+
+    public Long getTaskId() { return taskId; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public Long getChangeSeq() { return changeSeq; }
+}
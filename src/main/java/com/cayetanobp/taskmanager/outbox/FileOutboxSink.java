@@ -0,0 +1,69 @@
+package com.cayetanobp.taskmanager.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Añade cada evento como una línea JSON ({@code id} del outbox y el evento) al fichero configurado.
+ * Cuando el fichero alcanza {@code task.outbox.file.max-size} se rota a {@code <path>.1},
+ * {@code <path>.2}... y se descarta el más antiguo a partir de {@code task.outbox.file.max-files},
+ * así que el disco ocupado nunca pasa de unas {@code max-files + 1} veces ese tamaño.
+ */
+@Component
+@ConditionalOnProperty(name = "task.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final long maxSize;
+    private final int maxFiles;
+
+    public FileOutboxSink(@Value("${task.outbox.file.path:outbox.ndjson}") Path path,
+                          @Value("${task.outbox.file.max-size:100MB}") DataSize maxSize,
+                          @Value("${task.outbox.file.max-files:5}") int maxFiles) {
+        if (maxSize.toBytes() <= 0 || maxFiles < 1) {
+            throw new IllegalStateException("task.outbox.file.max-size y task.outbox.file.max-files deben ser positivos");
+        }
+        this.path = path;
+        this.maxSize = maxSize.toBytes();
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) throws IOException {
+        if (Files.exists(path) && Files.size(path) >= maxSize) {
+            rotate();
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (OutboxMessage message : messages) {
+                writer.write("{\"id\":" + message.id() + ",\"event\":" + message.payload() + "}");
+                writer.newLine();
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        Files.deleteIfExists(rotated(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(rotated(i))) {
+                Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(path, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotated(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+}
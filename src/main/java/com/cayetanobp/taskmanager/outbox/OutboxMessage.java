@@ -0,0 +1,12 @@
+package com.cayetanobp.taskmanager.outbox;
+
+import java.time.LocalDateTime;
+
+public record OutboxMessage(
+        Long id,
+        String type,
+        Long taskId,
+        String payload,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,111 @@
+package com.cayetanobp.taskmanager.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Vacía {@code task_outbox} por lotes. Cada lote se bloquea con {@code FOR UPDATE SKIP LOCKED},
+ * se entrega al {@link OutboxSink} y se borra en la misma transacción, así que varias instancias
+ * pueden drenar la tabla en paralelo sin repartir el mismo evento dos veces.
+ */
+@Component
+@ConditionalOnProperty(name = "task.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String SELECT_BATCH = """
+            SELECT id, event_type, task_id, payload, created_at FROM task_outbox
+            ORDER BY id
+            FETCH FIRST ? ROWS ONLY
+            FOR UPDATE SKIP LOCKED""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final int batchSize;
+    private final Counter relayed;
+    private final Counter failures;
+
+    public OutboxRelay(DataSource dataSource,
+                       PlatformTransactionManager transactionManager,
+                       ObjectProvider<OutboxSink> sink,
+                       @Value("${task.outbox.relay.batch-size:500}") int batchSize,
+                       MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink.getIfAvailable(() -> {
+            throw new IllegalStateException(
+                    "Falta el sink del outbox: configura task.outbox.sink (file) o desactiva task.outbox.relay.enabled");
+        });
+        this.batchSize = batchSize;
+        this.relayed = Counter.builder("task.outbox.relayed")
+                .description("Eventos del outbox entregados al sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("task.outbox.failures")
+                .description("Lotes del outbox que el sink rechazó")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${task.outbox.relay.interval-ms:200}")
+    public void relayScheduled() {
+        try {
+            relayPending();
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("No se pudo entregar el outbox, se reintentará: {}", ex.getMessage());
+        }
+    }
+
+    public int relayPending() {
+        int total = 0;
+        int sent;
+        do {
+            sent = relayBatch();
+            total += sent;
+        } while (sent == batchSize);
+        return total;
+    }
+
+    private int relayBatch() {
+        Integer sent = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = jdbcTemplate.query(SELECT_BATCH, (rs, rowNum) -> new OutboxMessage(
+                    rs.getLong("id"),
+                    rs.getString("event_type"),
+                    rs.getObject("task_id", Long.class),
+                    rs.getString("payload"),
+                    rs.getTimestamp("created_at").toLocalDateTime()
+            ), batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                sink.publish(batch);
+            } catch (Exception ex) {
+                throw new IllegalStateException("El sink del outbox rechazo el lote", ex);
+            }
+
+            String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+            jdbcTemplate.update("DELETE FROM task_outbox WHERE id IN (" + placeholders + ")",
+                    batch.stream().map(OutboxMessage::id).toArray());
+            return batch.size();
+        });
+        relayed.increment(sent);
+        return sent;
+    }
+}
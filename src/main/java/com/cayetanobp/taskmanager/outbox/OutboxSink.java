@@ -0,0 +1,12 @@
+package com.cayetanobp.taskmanager.outbox;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos del outbox. Si {@link #publish} lanza una excepción el lote
+ * no se borra y se reintenta en la siguiente pasada (entrega al menos una vez).
+ */
+public interface OutboxSink {
+
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
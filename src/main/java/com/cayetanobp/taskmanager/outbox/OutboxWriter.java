@@ -0,0 +1,84 @@
+package com.cayetanobp.taskmanager.outbox;
+
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escribe cada {@link TaskChangedEvent} en {@code task_outbox} dentro de la misma transacción
+ * que el cambio. Los eventos de una transacción se acumulan y se insertan en un único lote
+ * justo antes del commit; si la transacción se deshace no se escribe nada.
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT = """
+            INSERT INTO task_outbox (event_type, task_id, payload, created_at)
+            VALUES (?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Object[] row = {
+                event.type().name(),
+                event.taskId(),
+                toJson(event),
+                Timestamp.valueOf(LocalDateTime.now())
+        };
+
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            pendingRows().add(row);
+        } else {
+            jdbcTemplate.batchUpdate(INSERT, List.<Object[]>of(row));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> pendingRows() {
+        List<Object[]> rows = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (rows == null) {
+            List<Object[]> bound = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    jdbcTemplate.batchUpdate(INSERT, bound);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+                }
+            });
+            rows = bound;
+        }
+        return rows;
+    }
+
+    private String toJson(TaskChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
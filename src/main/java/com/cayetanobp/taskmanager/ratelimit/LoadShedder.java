@@ -0,0 +1,44 @@
+package com.cayetanobp.taskmanager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Rechaza peticiones cuando el servicio ya está saturado: demasiadas peticiones en curso o
+ * demasiados hilos esperando una conexión del pool.
+ */
+public class LoadShedder {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int maxInFlight;
+    private final int maxPoolWaiting;
+    private final IntSupplier poolWaiting;
+
+    public LoadShedder(int maxInFlight, int maxPoolWaiting, IntSupplier poolWaiting) {
+        this.maxInFlight = maxInFlight;
+        this.maxPoolWaiting = maxPoolWaiting;
+        this.poolWaiting = poolWaiting;
+    }
+
+    /**
+     * Reserva un hueco para la petición. Si devuelve {@code true} hay que llamar a {@link #exit()}.
+     */
+    public boolean tryEnter() {
+        if (maxPoolWaiting > 0 && poolWaiting.getAsInt() >= maxPoolWaiting) {
+            return false;
+        }
+        if (inFlight.incrementAndGet() > maxInFlight && maxInFlight > 0) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
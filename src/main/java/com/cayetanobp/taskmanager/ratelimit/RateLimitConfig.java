@@ -0,0 +1,90 @@
+package com.cayetanobp.taskmanager.ratelimit;
+
+import com.cayetanobp.taskmanager.config.ConcurrencyLimitingDataSource;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+@Configuration
+@ConditionalOnProperty(value = "task.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(@Value("${task.rate-limit.tokens-per-second:50}") double tokensPerSecond,
+                                   @Value("${task.rate-limit.capacity:100}") int capacity,
+                                   @Value("${task.rate-limit.max-clients:100000}") long maxClients) {
+        return new RateLimiter(tokensPerSecond, capacity, maxClients);
+    }
+
+    @Bean
+    public LoadShedder loadShedder(DataSource dataSource,
+                                   @Value("${task.load-shedding.max-in-flight:200}") int maxInFlight,
+                                   @Value("${task.load-shedding.max-pool-waiting:20}") int maxPoolWaiting) {
+        return new LoadShedder(maxInFlight, maxPoolWaiting, poolWaiting(dataSource));
+    }
+
+    @Bean
+    public RateLimitFilter rateLimitFilter(RateLimiter rateLimiter, LoadShedder loadShedder,
+                                           ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                           @Value("${task.rate-limit.cost.unfiltered-list:20}") int unfilteredList,
+                                           @Value("${task.rate-limit.cost.filtered-list:5}") int filteredList,
+                                           @Value("${task.rate-limit.cost.single-task:1}") int singleTask,
+                                           @Value("${task.rate-limit.cost.other:2}") int other,
+                                           @Value("${task.rate-limit.api-keys:}") List<String> apiKeys,
+                                           @Value("${task.load-shedding.retry-after:1s}") Duration retryAfter) {
+        Map<RequestCost, Integer> costs = Map.of(
+                RequestCost.UNFILTERED_LIST, unfilteredList,
+                RequestCost.FILTERED_LIST, filteredList,
+                RequestCost.SINGLE_TASK, singleTask,
+                RequestCost.OTHER, other);
+        costs.forEach((type, cost) -> {
+            // Un coste mayor que la capacidad no cabría nunca en el cubo: mejor no arrancar que dar 500.
+            if (cost <= 0 || cost > rateLimiter.capacity()) {
+                throw new IllegalStateException("task.rate-limit.cost para " + type + " es " + cost
+                        + " y debe estar entre 1 y task.rate-limit.capacity (" + rateLimiter.capacity() + ")");
+            }
+        });
+        Set<String> knownKeys = apiKeys.stream()
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .collect(Collectors.toSet());
+        return new RateLimitFilter(rateLimiter, loadShedder, costs, knownKeys, retryAfter, objectMapper,
+                meterRegistry);
+    }
+
+    /**
+     * Hilos esperando conexión: los del limitador de concurrencia, si está activo, más los del
+     * propio pool de Hikari.
+     */
+    private static IntSupplier poolWaiting(DataSource dataSource) {
+        ConcurrencyLimitingDataSource limiter = unwrap(dataSource, ConcurrencyLimitingDataSource.class);
+        HikariDataSource hikari = unwrap(dataSource, HikariDataSource.class);
+        return () -> {
+            int waiting = limiter != null ? limiter.waitingThreads() : 0;
+            HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+            return pool != null ? waiting + pool.getThreadsAwaitingConnection() : waiting;
+        };
+    }
+
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.cayetanobp.taskmanager.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Limita por cliente y descarta carga cuando el servicio está saturado. El cliente es su
+ * {@code X-Api-Key} solo si es una de {@code task.rate-limit.api-keys}; si no, su IP. La cabecera
+ * no se autentica, así que aceptar cualquier valor permitiría saltarse la cuota cambiándolo en
+ * cada petición. Va delante de todo lo demás para que una petición rechazada no llegue
+ * a pedir conexión a la base de datos.
+ */
+public class RateLimitFilter extends OncePerRequestFilter implements Ordered {
+
+    static final String CLIENT_HEADER = "X-Api-Key";
+    private static final String STREAM_PATH = "/api/tasks/stream";
+
+    private final RateLimiter limiter;
+    private final LoadShedder shedder;
+    private final Map<RequestCost, Integer> costs;
+    private final Set<String> apiKeys;
+    private final Duration shedRetryAfter;
+    private final ObjectMapper objectMapper;
+    private final Counter rateLimited;
+    private final Counter shed;
+
+    public RateLimitFilter(RateLimiter limiter, LoadShedder shedder, Map<RequestCost, Integer> costs,
+                           Set<String> apiKeys, Duration shedRetryAfter, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.limiter = limiter;
+        this.shedder = shedder;
+        this.costs = new EnumMap<>(costs);
+        this.apiKeys = Set.copyOf(apiKeys);
+        this.shedRetryAfter = shedRetryAfter;
+        this.objectMapper = objectMapper;
+        this.rateLimited = Counter.builder("task.ratelimit.rejected")
+                .description("Peticiones rechazadas con 429 por superar la cuota del cliente")
+                .register(meterRegistry);
+        this.shed = Counter.builder("task.loadshed.rejected")
+                .description("Peticiones rechazadas con 503 por saturacion del servicio")
+                .register(meterRegistry);
+        Gauge.builder("task.requests.in-flight", shedder, LoadShedder::inFlight)
+                .description("Peticiones a /api/tasks en curso")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/tasks");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Duration wait = limiter.tryAcquire(clientOf(request), costs.get(RequestCost.of(request)));
+        if (!wait.isZero()) {
+            rateLimited.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait,
+                    "Demasiadas peticiones, vuelve a intentarlo mas tarde");
+            return;
+        }
+
+        // Las conexiones SSE duran minutos; contarlas como peticiones en curso falsearía la carga.
+        if (request.getRequestURI().endsWith(STREAM_PATH)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!shedder.tryEnter()) {
+            shed.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, shedRetryAfter,
+                    "El servicio esta saturado, vuelve a intentarlo mas tarde");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            shedder.exit();
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(CLIENT_HEADER);
+        return apiKey != null && apiKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, Duration retryAfter, String message)
+            throws IOException {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
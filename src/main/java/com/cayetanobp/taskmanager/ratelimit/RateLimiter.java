@@ -0,0 +1,57 @@
+package com.cayetanobp.taskmanager.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Un {@link TokenBucket} por cliente. Los cubos viven en una caché acotada y caducan tras el
+ * tiempo que tardarían en llenarse: un cubo inactivo ese tiempo está lleno y equivale a uno nuevo.
+ */
+public class RateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int capacity;
+    private final LongSupplier clock;
+
+    public RateLimiter(double tokensPerSecond, int capacity, long maxClients) {
+        this(tokensPerSecond, capacity, maxClients, System::nanoTime);
+    }
+
+    RateLimiter(double tokensPerSecond, int capacity, long maxClients, LongSupplier clock) {
+        if (tokensPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("La tasa y la capacidad del limitador deben ser positivas");
+        }
+        this.nanosPerToken = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = capacity * nanosPerToken;
+        this.capacity = capacity;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos))
+                .build();
+    }
+
+    /**
+     * @return {@link Duration#ZERO} si se admite la petición; si no, cuánto debe esperar el cliente
+     */
+    public Duration tryAcquire(String client, int cost) {
+        if (cost > capacity) {
+            throw new IllegalArgumentException("El coste " + cost + " supera la capacidad del limitador " + capacity);
+        }
+        TokenBucket bucket = buckets.get(client, key -> new TokenBucket());
+        return Duration.ofNanos(bucket.tryAcquire(cost, clock.getAsLong(), nanosPerToken, burstNanos));
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long trackedClients() {
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,39 @@
+package com.cayetanobp.taskmanager.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Tipo de petición a efectos del limitador. Una lista sin filtros recorre toda la tabla y cuesta
+ * bastante más que leer una tarea por id.
+ */
+public enum RequestCost {
+
+    UNFILTERED_LIST,
+    FILTERED_LIST,
+    SINGLE_TASK,
+    OTHER;
+
+    private static final String BASE = "/api/tasks";
+
+    static RequestCost of(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return OTHER;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (path.equals(BASE) || path.equals(BASE + "/") || path.equals(BASE + "/export")) {
+            return request.getParameter("status") == null && request.getParameter("priority") == null
+                    ? UNFILTERED_LIST
+                    : FILTERED_LIST;
+        }
+        if (path.equals(BASE + "/search")) {
+            return FILTERED_LIST;
+        }
+        if (path.equals(BASE + "/changes")) {
+            return request.getParameter("since") == null ? UNFILTERED_LIST : FILTERED_LIST;
+        }
+        if (path.startsWith(BASE + "/") && path.substring(BASE.length() + 1).chars().allMatch(Character::isDigit)) {
+            return SINGLE_TASK;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,31 @@
+package com.cayetanobp.taskmanager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubo de tokens sin bloqueos. En lugar de guardar tokens y última recarga, guarda un único
+ * instante teórico (GCRA): el momento en que el cubo volvería a estar lleno. Consumir {@code cost}
+ * tokens lo adelanta {@code cost * nanosPerToken}; la petición se admite si ese instante no queda
+ * más de {@code capacity * nanosPerToken} por delante de ahora. Así basta un CAS sobre un long.
+ */
+final class TokenBucket {
+
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @return 0 si se admite la petición; si no, nanosegundos hasta que haya tokens suficientes
+     */
+    long tryAcquire(int cost, long now, long nanosPerToken, long burstNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost * nanosPerToken;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
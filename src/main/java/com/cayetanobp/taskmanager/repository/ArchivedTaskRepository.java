@@ -0,0 +1,18 @@
+package com.cayetanobp.taskmanager.repository;
+
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    @Query("""
+            select new com.cayetanobp.taskmanager.dto.TaskResponse(
+                t.id, t.title, t.description, t.status, t.priority, t.createdAt, t.updatedAt, t.version)
+            from ArchivedTask t where t.id = :id""")
+    Optional<TaskResponse> findResponseById(@Param("id") Long id);
+}
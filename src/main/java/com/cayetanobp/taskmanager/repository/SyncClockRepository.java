@@ -0,0 +1,17 @@
+package com.cayetanobp.taskmanager.repository;
+
+import com.cayetanobp.taskmanager.model.SyncClock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface SyncClockRepository extends JpaRepository<SyncClock, Integer> {
+
+    @Query("select c.prunedSeq from SyncClock c where c.id = " + SyncClock.ID)
+    Long prunedUpTo();
+
+    @Modifying
+    @Query("update SyncClock c set c.prunedSeq = :changeSeq where c.id = " + SyncClock.ID + " and c.prunedSeq < :changeSeq")
+    int advancePruned(@Param("changeSeq") long changeSeq);
+}
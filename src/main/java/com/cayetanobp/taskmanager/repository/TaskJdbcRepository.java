@@ -0,0 +1,182 @@
+package com.cayetanobp.taskmanager.repository;
+
+import com.cayetanobp.taskmanager.dto.TaskCursor;
+import com.cayetanobp.taskmanager.dto.TaskField;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Repository
+public class TaskJdbcRepository {
+
+    private static final String COLUMNS = "id, title, description, status, priority, created_at, updated_at, version";
+    private static final String SELECT_COLUMNS = "SELECT " + COLUMNS + " FROM tasks";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public TaskJdbcRepository(DataSource dataSource,
+                              @Value("${task.stream.fetch-size:500}") int fetchSize) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equals(product);
+    }
+
+    /**
+     * Borra las tareas, deja su marca de borrado y devuelve cómo estaban, sin leerlas antes. En
+     * PostgreSQL es una sola sentencia ({@code DELETE ... RETURNING} con el {@code INSERT} de las
+     * marcas en la misma CTE); en H2, {@code SELECT ... FROM OLD TABLE (DELETE ...)} y el
+     * {@code INSERT} en lote. Las filas que ya no existen, o que otra transacción borra mientras
+     * tanto, no se devuelven ni dejan marca.
+     */
+    @Timed(value = "task.jdbc", extraTags = {"method", "deleteReturning"})
+    public List<TaskResponse> deleteReturning(Collection<Long> ids, LocalDateTime deletedAt) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String delete = "DELETE FROM tasks WHERE id IN (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")";
+        List<Object> args = new ArrayList<>(ids);
+        if (postgres) {
+            args.add(Timestamp.valueOf(deletedAt));
+            return jdbcTemplate.query("WITH deleted AS (" + delete + " RETURNING " + COLUMNS + "), "
+                            + "marked AS (INSERT INTO task_tombstones (task_id, deleted_at) SELECT id, ? FROM deleted) "
+                            + "SELECT " + COLUMNS + " FROM deleted",
+                    (rs, rowNum) -> mapRow(rs), args.toArray());
+        }
+        List<TaskResponse> deleted = jdbcTemplate.query("SELECT " + COLUMNS + " FROM OLD TABLE (" + delete + ")",
+                (rs, rowNum) -> mapRow(rs), args.toArray());
+        if (!deleted.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO task_tombstones (task_id, deleted_at) VALUES (?, ?)",
+                    deleted.stream().map(task -> new Object[]{task.id(), Timestamp.valueOf(deletedAt)}).toList());
+        }
+        return deleted;
+    }
+
+    @Timed(value = "task.jdbc", extraTags = {"method", "stream"})
+    public void stream(TaskStatus status, Priority priority, Consumer<TaskResponse> consumer) {
+        stream(status, priority, null, null, consumer);
+    }
+
+    /**
+     * Recorre las tareas con un cursor del servidor ({@code fetch-size} filas por viaje), con
+     * {@code createdAt} en {@code [from, to)} cuando se indican.
+     */
+    @Timed(value = "task.jdbc", extraTags = {"method", "stream"})
+    public void stream(TaskStatus status, Priority priority, LocalDateTime from, LocalDateTime to,
+                       Consumer<TaskResponse> consumer) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addFilters(status, priority, conditions, args);
+        if (from != null) {
+            conditions.add("created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add("created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_COLUMNS);
+        appendWhere(sql, conditions);
+        sql.append(" ORDER BY created_at, id");
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            consumer.accept(mapRow(rs));
+        }, args.toArray());
+    }
+
+    @Timed(value = "task.jdbc", extraTags = {"method", "findPage"})
+    public List<TaskResponse> findPage(TaskStatus status, Priority priority, TaskCursor after, int limit,
+                                       Set<TaskField> fields) {
+        Set<TaskField> columns = EnumSet.of(TaskField.ID, TaskField.CREATED_AT);
+        columns.addAll(fields);
+
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addFilters(status, priority, conditions, args);
+        if (after != null) {
+            conditions.add("(created_at > ? OR (created_at = ? AND id > ?))");
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(Timestamp.valueOf(after.createdAt()));
+            args.add(after.id());
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ")
+                .append(columns.stream().map(TaskField::column).collect(Collectors.joining(", ")))
+                .append(" FROM tasks");
+        appendWhere(sql, conditions);
+        sql.append(" ORDER BY created_at, id FETCH FIRST ? ROWS ONLY");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> mapColumns(rs, columns), args.toArray());
+    }
+
+    private static void addFilters(TaskStatus status, Priority priority, List<String> conditions, List<Object> args) {
+        if (status != null) {
+            conditions.add("status = ?");
+            args.add(status.name());
+        }
+        if (priority != null) {
+            conditions.add("priority = ?");
+            args.add(priority.name());
+        }
+    }
+
+    private static void appendWhere(StringBuilder sql, List<String> conditions) {
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    private static TaskResponse mapColumns(ResultSet rs, Set<TaskField> columns) throws SQLException {
+        return new TaskResponse(
+                rs.getLong("id"),
+                columns.contains(TaskField.TITLE) ? rs.getString("title") : null,
+                columns.contains(TaskField.DESCRIPTION) ? rs.getString("description") : null,
+                columns.contains(TaskField.STATUS) ? TaskStatus.valueOf(rs.getString("status")) : null,
+                columns.contains(TaskField.PRIORITY) ? Priority.valueOf(rs.getString("priority")) : null,
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                columns.contains(TaskField.UPDATED_AT) ? toLocalDateTime(rs.getTimestamp("updated_at")) : null,
+                columns.contains(TaskField.VERSION) ? rs.getLong("version") : null
+        );
+    }
+
+    static TaskResponse mapRow(ResultSet rs) throws SQLException {
+        return new TaskResponse(
+                rs.getLong("id"),
+                rs.getString("title"),
+                rs.getString("description"),
+                TaskStatus.valueOf(rs.getString("status")),
+                Priority.valueOf(rs.getString("priority")),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at")),
+                rs.getLong("version")
+        );
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
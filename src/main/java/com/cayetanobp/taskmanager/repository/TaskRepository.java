@@ -1,17 +1,173 @@
 package com.cayetanobp.taskmanager.repository;
 
+import com.cayetanobp.taskmanager.dto.ChangedTask;
+import com.cayetanobp.taskmanager.dto.TaskChangeSeq;
+import com.cayetanobp.taskmanager.dto.TaskCount;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskVersion;
 import com.cayetanobp.taskmanager.model.Priority;
 import com.cayetanobp.taskmanager.model.Task;
 import com.cayetanobp.taskmanager.model.TaskStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    String RESPONSE = "select new com.cayetanobp.taskmanager.dto.TaskResponse("
+            + "t.id, t.title, t.description, t.status, t.priority, t.createdAt, t.updatedAt, t.version) "
+            + "from Task t ";
+
+    String KEYSET = "(t.createdAt > :createdAt or (t.createdAt = :createdAt and t.id > :id)) ";
+
+    String ORDER = "order by t.createdAt, t.id";
+
     List<Task> findByStatus(TaskStatus status);
 
     List<Task> findByPriority(Priority priority);
 
     List<Task> findByStatusAndPriority(TaskStatus status, Priority priority);
+
+    @Query(RESPONSE + "where t.id = :id")
+    Optional<TaskResponse> findResponseById(@Param("id") Long id);
+
+    @Query(RESPONSE + ORDER)
+    List<TaskResponse> findAllByOrderByCreatedAtAscIdAsc(Pageable pageable);
+
+    @Query(RESPONSE + "where t.status = :status " + ORDER)
+    List<TaskResponse> findByStatusOrderByCreatedAtAscIdAsc(
+            @Param("status") TaskStatus status,
+            Pageable pageable);
+
+    @Query(RESPONSE + "where t.priority = :priority " + ORDER)
+    List<TaskResponse> findByPriorityOrderByCreatedAtAscIdAsc(
+            @Param("priority") Priority priority,
+            Pageable pageable);
+
+    @Query(RESPONSE + "where t.status = :status and t.priority = :priority " + ORDER)
+    List<TaskResponse> findByStatusAndPriorityOrderByCreatedAtAscIdAsc(
+            @Param("status") TaskStatus status,
+            @Param("priority") Priority priority,
+            Pageable pageable);
+
+    @Query(RESPONSE + "where " + KEYSET + ORDER)
+    List<TaskResponse> findPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(RESPONSE + "where t.status = :status and " + KEYSET + ORDER)
+    List<TaskResponse> findPageByStatusAfter(
+            @Param("status") TaskStatus status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(RESPONSE + "where t.priority = :priority and " + KEYSET + ORDER)
+    List<TaskResponse> findPageByPriorityAfter(
+            @Param("priority") Priority priority,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query(RESPONSE + "where t.status = :status and t.priority = :priority and " + KEYSET + ORDER)
+    List<TaskResponse> findPageByStatusAndPriorityAfter(
+            @Param("status") TaskStatus status,
+            @Param("priority") Priority priority,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    @Query("""
+            select new com.cayetanobp.taskmanager.dto.ChangedTask(
+                t.id, t.title, t.description, t.status, t.priority, t.createdAt, t.updatedAt, t.version,
+                t.changeSeq)
+            from Task t
+            where (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.id > :id))
+              and t.changeSeq <= :watermark
+            order by t.changeSeq, t.id""")
+    List<ChangedTask> findChangedAfter(
+            @Param("changeSeq") Long changeSeq,
+            @Param("id") Long id,
+            @Param("watermark") Long watermark,
+            Pageable pageable);
+
+    @Query("select new com.cayetanobp.taskmanager.dto.TaskChangeSeq(t.id, t.changeSeq) from Task t where t.id in :ids")
+    List<TaskChangeSeq> findChangeSeqs(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Task t set t.changeSeq = :changeSeq where t.changeSeq is null")
+    int stampChanges(@Param("changeSeq") long changeSeq);
+
+    @Query("select new com.cayetanobp.taskmanager.dto.TaskVersion(max(t.changeSeq), count(t)) from Task t")
+    TaskVersion findVersion();
+
+    @Query("""
+            select new com.cayetanobp.taskmanager.dto.TaskVersion(max(t.changeSeq), count(t))
+            from Task t where t.status = :status""")
+    TaskVersion findVersionByStatus(@Param("status") TaskStatus status);
+
+    @Query("""
+            select new com.cayetanobp.taskmanager.dto.TaskVersion(max(t.changeSeq), count(t))
+            from Task t where t.priority = :priority""")
+    TaskVersion findVersionByPriority(@Param("priority") Priority priority);
+
+    @Query("""
+            select new com.cayetanobp.taskmanager.dto.TaskVersion(max(t.changeSeq), count(t))
+            from Task t where t.status = :status and t.priority = :priority""")
+    TaskVersion findVersionByStatusAndPriority(
+            @Param("status") TaskStatus status,
+            @Param("priority") Priority priority);
+
+    @Query("""
+            select new com.cayetanobp.taskmanager.dto.TaskCount(t.status, t.priority, count(t))
+            from Task t group by t.status, t.priority""")
+    List<TaskCount> countGroupedByStatusAndPriority();
+
+    @Query("""
+            select new com.cayetanobp.taskmanager.dto.TaskCount(
+                t.status, t.priority, cast(t.createdAt as LocalDate), count(t))
+            from Task t group by t.status, t.priority, cast(t.createdAt as LocalDate)""")
+    List<TaskCount> countGroupedByStatusPriorityAndDay();
+
+    @Modifying
+    @Query("""
+            update Task t set
+                t.title = coalesce(:title, t.title),
+                t.description = coalesce(:description, t.description),
+                t.status = coalesce(:status, t.status),
+                t.priority = coalesce(:priority, t.priority),
+                t.updatedAt = :updatedAt,
+                t.version = t.version + 1,
+                t.changeSeq = null
+            where t.id = :id and t.version = :version""")
+    int updateIfVersion(
+            @Param("id") Long id,
+            @Param("version") Long version,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("status") TaskStatus status,
+            @Param("priority") Priority priority,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying
+    @Query("delete from Task t where t.status = :status")
+    int removeByStatus(@Param("status") TaskStatus status);
+
+    @Modifying
+    @Query("delete from Task t where t.priority = :priority")
+    int removeByPriority(@Param("priority") Priority priority);
+
+    @Modifying
+    @Query("delete from Task t where t.status = :status and t.priority = :priority")
+    int removeByStatusAndPriority(
+            @Param("status") TaskStatus status,
+            @Param("priority") Priority priority);
 }
@@ -0,0 +1,68 @@
+package com.cayetanobp.taskmanager.repository;
+
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Repository
+public class TaskSearchRepository {
+
+    private static final String POSTGRES_SEARCH = """
+            SELECT id, title, description, status, priority, created_at, updated_at, version
+            FROM tasks, websearch_to_tsquery('spanish', ?) query
+            WHERE search_vector @@ query
+            ORDER BY ts_rank(search_vector, query) DESC, id
+            OFFSET ? ROWS FETCH FIRST ? ROWS ONLY""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public TaskSearchRepository(DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.postgres = "PostgreSQL".equals(product);
+    }
+
+    @Timed(value = "task.jdbc", extraTags = {"method", "search"})
+    public List<TaskResponse> search(String text, long offset, int limit) {
+        if (postgres) {
+            return jdbcTemplate.query(POSTGRES_SEARCH,
+                    (rs, rowNum) -> TaskJdbcRepository.mapRow(rs), text, offset, limit);
+        }
+        return searchWithLike(text, offset, limit);
+    }
+
+    private List<TaskResponse> searchWithLike(String text, long offset, int limit) {
+        String normalized = text.toLowerCase(Locale.ROOT).trim();
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        for (String term : normalized.split("\\s+")) {
+            String pattern = "%" + escapeLike(term) + "%";
+            conditions.add("(LOWER(title) LIKE ? ESCAPE '\\' OR LOWER(description) LIKE ? ESCAPE '\\')");
+            args.add(pattern);
+            args.add(pattern);
+        }
+        args.add("%" + escapeLike(normalized) + "%");
+        args.add(offset);
+        args.add(limit);
+
+        String sql = "SELECT id, title, description, status, priority, created_at, updated_at, version FROM tasks"
+                + " WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY CASE WHEN LOWER(title) LIKE ? ESCAPE '\\' THEN 0 ELSE 1 END, id"
+                + " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> TaskJdbcRepository.mapRow(rs), args.toArray());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,64 @@
+package com.cayetanobp.taskmanager.repository;
+
+import com.cayetanobp.taskmanager.dto.TaskChangeSeq;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.model.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    String INSERT_FROM_TASKS = "insert into TaskTombstone (taskId, deletedAt) "
+            + "select t.id, :deletedAt from Task t ";
+
+    @Modifying
+    @Query(INSERT_FROM_TASKS + "where t.status = :status")
+    int insertForStatus(@Param("status") TaskStatus status, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(INSERT_FROM_TASKS + "where t.priority = :priority")
+    int insertForPriority(@Param("priority") Priority priority, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(INSERT_FROM_TASKS + "where t.status = :status and t.priority = :priority")
+    int insertForStatusAndPriority(
+            @Param("status") TaskStatus status,
+            @Param("priority") Priority priority,
+            @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query("""
+            select t from TaskTombstone t
+            where (t.changeSeq > :changeSeq or (t.changeSeq = :changeSeq and t.taskId > :id))
+              and t.changeSeq <= :watermark
+            order by t.changeSeq, t.taskId""")
+    List<TaskTombstone> findPageAfter(
+            @Param("changeSeq") Long changeSeq,
+            @Param("id") Long id,
+            @Param("watermark") Long watermark,
+            Pageable pageable);
+
+    @Query("""
+            select new com.cayetanobp.taskmanager.dto.TaskChangeSeq(t.taskId, t.changeSeq)
+            from TaskTombstone t where t.taskId in :ids""")
+    List<TaskChangeSeq> findChangeSeqs(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update TaskTombstone t set t.changeSeq = :changeSeq where t.changeSeq is null")
+    int stampChanges(@Param("changeSeq") long changeSeq);
+
+    /** Número de cambio más alto entre las marcas anteriores a {@code cutoff}: hasta ahí se purga. */
+    @Query("select max(t.changeSeq) from TaskTombstone t where t.deletedAt < :cutoff")
+    Long pruneHorizon(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("delete from TaskTombstone t where t.changeSeq <= :changeSeq")
+    int removeUpTo(@Param("changeSeq") long changeSeq);
+}
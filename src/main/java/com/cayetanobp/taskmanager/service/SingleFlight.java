@@ -0,0 +1,91 @@
+package com.cayetanobp.taskmanager.service;
+
+import com.cayetanobp.taskmanager.config.ReadConsistency;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave: la primera ejecuta la consulta y las que
+ * llegan mientras tanto esperan su resultado (o su excepción) en vez de lanzar otra idéntica.
+ * No es una caché: en cuanto la llamada termina, la clave sale del mapa.
+ *
+ * <p>Quien espera hereda la frescura de lo que leyó la primera llamada
+ * ({@link ReadConsistency#observed}), para no guardar en caché un resultado de réplica atrasada
+ * como si viniera del primario.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<ReadConsistency.Read<V>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter collapsed;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("task.singleflight.executed")
+                .description("Llamadas que llegaron a ejecutar la consulta")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        this.collapsed = Counter.builder("task.singleflight.collapsed")
+                .description("Llamadas que reutilizaron el resultado de otra en curso")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<ReadConsistency.Read<V>> flight = new CompletableFuture<>();
+        CompletableFuture<ReadConsistency.Read<V>> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            collapsed.increment();
+            ReadConsistency.Read<V> read = await(existing);
+            ReadConsistency.observed(read.freshness());
+            return read.value();
+        }
+
+        executed.increment();
+        try {
+            ReadConsistency.Read<V> read = ReadConsistency.track(call);
+            flight.complete(read);
+            return read.value();
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Hace que las llamadas siguientes con esa clave no se unan a la que está en curso, que pudo
+     * empezar antes de una escritura. Quien ya espera recibe igualmente su resultado.
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.cayetanobp.taskmanager.service;
+
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.cayetanobp.taskmanager.model.SyncClock;
+import com.cayetanobp.taskmanager.repository.SyncClockRepository;
+import com.cayetanobp.taskmanager.repository.TaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskTombstoneRepository;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Numera los cambios de {@code tasks} y {@code task_tombstones} con la secuencia
+ * {@code task_change_seq}, para que {@link TaskSyncService} tome la marca de agua de la base de
+ * datos y no del reloj.
+ *
+ * <p>Las escrituras dejan {@code change_seq} a {@code NULL}. Justo antes del commit, la
+ * transacción pide un número a la secuencia y lo pone en sus filas pendientes. La secuencia no
+ * bloquea ni se deshace, así que las escrituras no se serializan, pero los números ya no llegan en
+ * orden de commit: uno menor puede confirmarse un instante después que uno mayor. Por eso la marca
+ * de agua va con retraso: cada nodo anota cada segundo el último número repartido y
+ * {@link #watermark()} devuelve la anotación más reciente que tenga al menos
+ * {@code task.changes.visibility-lag}. Como el número se pide justo antes del commit, basta con que
+ * ese retraso cubra lo que tarda un commit; con retraso cero se consulta la secuencia en el momento,
+ * lo que solo es seguro sin escrituras concurrentes (los tests).
+ *
+ * <p>Las escrituras por entidad se detectan con {@link TaskListener}, registrado en
+ * {@code META-INF/orm.xml}; las de JPQL, JDBC o COPY, por el {@link TaskChangedEvent} que publica
+ * cada una.
+ */
+@Component
+public class TaskChangeClock {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeClock.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SyncClockRepository clockRepository;
+    private final TaskRepository repository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration visibilityLag;
+    private final Samples samples;
+    private final String nextValueSql;
+
+    public TaskChangeClock(DataSource dataSource, SyncClockRepository clockRepository, TaskRepository repository,
+                           TaskTombstoneRepository tombstoneRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${task.changes.visibility-lag:5s}") Duration visibilityLag)
+            throws MetaDataAccessException {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.clockRepository = clockRepository;
+        this.repository = repository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.visibilityLag = visibilityLag;
+        this.samples = new Samples(visibilityLag.toNanos());
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.nextValueSql = "PostgreSQL".equals(product)
+                ? "SELECT nextval('task_change_seq')"
+                : "SELECT NEXT VALUE FOR task_change_seq";
+        try {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS task_change_seq");
+        } catch (DataIntegrityViolationException ex) {
+            // Otro nodo la ha creado a la vez.
+        }
+    }
+
+    /**
+     * Número de cambio hasta el que todo está confirmado. Hasta tener una anotación con el retraso
+     * suficiente (justo tras arrancar) se usa la marca de purga, que siempre es antigua.
+     */
+    public long watermark() {
+        if (visibilityLag.isZero()) {
+            return nextValue() - 1;
+        }
+        long sampled = samples.watermark(System.nanoTime());
+        return sampled >= 0 ? sampled : pruned();
+    }
+
+    /** Último número de cambio cuyas marcas de borrado pueden haberse purgado. */
+    public long pruned() {
+        Long pruned = clockRepository.prunedUpTo();
+        return pruned != null ? pruned : 0L;
+    }
+
+    /**
+     * Número con que se ha confirmado la transacción en curso, o {@code -1} si no ha escrito nada
+     * numerado. Sirve en los listeners {@code AFTER_COMMIT}, que Spring ejecuta en
+     * {@code afterCompletion}: deben llevar un {@code @Order} anterior a
+     * {@link Ordered#LOWEST_PRECEDENCE} para ejecutarse antes de que el reloj suelte la transacción.
+     */
+    public long committedSeq() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        return pending != null ? pending.seq : -1L;
+    }
+
+    @Scheduled(fixedDelayString = "${task.changes.sample-interval-ms:1000}")
+    public void sample() {
+        if (visibilityLag.isZero()) {
+            return;
+        }
+        try {
+            // Todo número menor que el que se acaba de repartir se pidió antes de este instante.
+            long now = System.nanoTime();
+            samples.add(now, nextValue() - 1);
+        } catch (RuntimeException ex) {
+            log.warn("No se pudo leer task_change_seq: {}", ex.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED, IMPORTED -> pending().tasks = true;
+            case DELETED, DELETED_MATCHING -> pending().tombstones = true;
+            case ARCHIVED -> {
+                // El archivado saca filas de tasks sin crear ni cambiar ninguna.
+            }
+        }
+    }
+
+    /**
+     * Una modificación que Hibernate solo descubre en el flush del propio commit llega tarde para
+     * numerarse; la fila queda a {@code NULL} y la numera la siguiente transacción que escriba.
+     */
+    void taskWritten() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            pending().tasks = true;
+        }
+    }
+
+    /**
+     * Crea la fila de la marca de purga y numera las filas que no tengan número (anteriores a la
+     * columna o escritas fuera de la aplicación, como {@code data.sql}).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!clockRepository.existsById(SyncClock.ID)) {
+                    clockRepository.saveAndFlush(new SyncClock());
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Otro nodo la ha creado a la vez.
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            pending().tasks = true;
+            pending().tombstones = true;
+        });
+        sample();
+    }
+
+    private long nextValue() {
+        Long value = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+        return value != null ? value : 0L;
+    }
+
+    private Pending pending() {
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Pending bound = new Pending();
+            TransactionSynchronizationManager.bindResource(this, bound);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    stamp(bound);
+                }
+
+                @Override
+                public int getOrder() {
+                    return Ordered.LOWEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskChangeClock.this);
+                }
+            });
+            pending = bound;
+        }
+        return pending;
+    }
+
+    private void stamp(Pending pending) {
+        // Las entidades modificadas se escriben ahora, con change_seq a NULL, para numerarlas también.
+        repository.flush();
+        if (!pending.tasks && !pending.tombstones) {
+            return;
+        }
+        long seq = nextValue();
+        pending.seq = seq;
+        if (pending.tasks) {
+            repository.stampChanges(seq);
+        }
+        if (pending.tombstones) {
+            tombstoneRepository.stampChanges(seq);
+        }
+    }
+
+    private static final class Pending {
+
+        private boolean tasks;
+        private boolean tombstones;
+        private long seq = -1L;
+    }
+
+    /**
+     * Anotaciones {@code (instante, último número repartido)} de este nodo. Las que ya tienen el
+     * retraso pedido pasan a ser la marca de agua y se descartan, así que solo se guardan las de
+     * los últimos {@code task.changes.visibility-lag}.
+     */
+    static final class Samples {
+
+        private final long lagNanos;
+        private final Deque<Sample> samples = new ArrayDeque<>();
+        private long watermark = -1L;
+
+        Samples(long lagNanos) {
+            this.lagNanos = lagNanos;
+        }
+
+        synchronized void add(long at, long value) {
+            samples.addLast(new Sample(at, value));
+            advance(at);
+        }
+
+        /** @return la marca de agua en {@code now}, o {@code -1} si aún no hay ninguna anotación válida */
+        synchronized long watermark(long now) {
+            advance(now);
+            return watermark;
+        }
+
+        private void advance(long now) {
+            while (!samples.isEmpty() && now - samples.peekFirst().at() >= lagNanos) {
+                watermark = Math.max(watermark, samples.pollFirst().value());
+            }
+        }
+
+        private record Sample(long at, long value) {
+        }
+    }
+
+    /**
+     * Listener de entidad de {@code Task}. Se resuelve el reloj al primer uso porque Hibernate crea
+     * los listeners mientras construye el {@code EntityManagerFactory} del que dependen los
+     * repositorios.
+     */
+    public static class TaskListener {
+
+        private final ObjectProvider<TaskChangeClock> clock;
+
+        public TaskListener(ObjectProvider<TaskChangeClock> clock) {
+            this.clock = clock;
+        }
+
+        @PrePersist
+        @PreUpdate
+        void onWrite(Object task) {
+            TaskChangeClock changeClock = clock.getIfAvailable();
+            if (changeClock != null) {
+                changeClock.taskWritten();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.cayetanobp.taskmanager.service;
+
+import com.cayetanobp.taskmanager.config.ReadConsistency;
+import com.cayetanobp.taskmanager.dto.TaskCount;
+import com.cayetanobp.taskmanager.dto.TaskCursor;
+import com.cayetanobp.taskmanager.dto.TaskField;
+import com.cayetanobp.taskmanager.dto.TaskPage;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskVersion;
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.cayetanobp.taskmanager.hotstore.HotTaskStore;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.stats.TaskStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa lecturas idénticas concurrentes antes de llegar a {@link TaskService}, de modo que cien
+ * peticiones simultáneas de la misma tarea o página abren una sola transacción y lanzan una sola
+ * consulta. Tras cada escritura confirmada se olvidan las llamadas en curso afectadas, para que
+ * quien lea después de escribir no reciba un resultado empezado antes. Una lectura con
+ * {@link ReadConsistency token} no se une a llamadas en curso: pudieron ir a una réplica que
+ * todavía no tiene la escritura del token.
+ *
+ * <p>Si está activo el {@link HotTaskStore}, las lecturas que puede responder (tareas abiertas)
+ * se sirven desde memoria sin llegar a la base de datos, salvo que traigan un token posterior a
+ * su último repaso: esa escritura pudo hacerse en otro nodo y aún no estar en memoria. Los recuentos salen de sus bitmaps o, si
+ * no puede responder, de los contadores de {@link TaskStatistics}; nunca consultan la base de datos.
+ *
+ * <p>La versión de una lista y su página se leen en la misma transacción ({@link #listing}), para
+ * que la página guardada bajo un ETag sea la que ese ETag describe.
+ */
+@Component
+public class TaskReadCoalescer {
+
+    private final TaskService service;
+    private final HotTaskStore hotStore;
+    private final TaskStatistics statistics;
+    private final SingleFlight<Long, TaskResponse> byId;
+    private final SingleFlight<PageKey, TaskPage> pages;
+    private final TransactionTemplate snapshot;
+
+    public TaskReadCoalescer(TaskService service, ObjectProvider<HotTaskStore> hotStore,
+                             TaskStatistics statistics, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.service = service;
+        this.hotStore = hotStore.getIfAvailable();
+        this.statistics = statistics;
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setReadOnly(true);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.byId = new SingleFlight<>("findById", meterRegistry);
+        this.pages = new SingleFlight<>("findAll", meterRegistry);
+    }
+
+    public TaskResponse findById(Long id) {
+        TaskResponse hot = fromHotStore() ? hotStore.findById(id) : null;
+        if (hot != null) {
+            return hot;
+        }
+        if (ReadConsistency.current() != null) {
+            return service.findById(id);
+        }
+        return byId.execute(id, () -> service.findById(id));
+    }
+
+    /**
+     * Ejecuta la lectura de una lista (versión y página) sobre una sola instantánea: en una
+     * transacción {@code REPEATABLE READ}, salvo que responda el almacén en memoria.
+     */
+    public <T> T listing(TaskStatus status, Supplier<T> read) {
+        if (fromHotStore() && hotStore.isReady() && status != null && status != TaskStatus.DONE) {
+            return read.get();
+        }
+        return snapshot.execute(tx -> read.get());
+    }
+
+    /**
+     * Página de la lista. {@code version} es la leída para su ETag: solo se agrupan llamadas que
+     * vieron la misma, para no devolver una página leída antes que la versión.
+     */
+    public TaskPage findAll(TaskVersion version, TaskStatus status, Priority priority, TaskCursor after, int limit,
+                            Set<TaskField> fields) {
+        TaskPage hot = fromHotStore() ? hotStore.findAll(status, priority, after, limit) : null;
+        if (hot != null) {
+            return hot;
+        }
+        if (ReadConsistency.current() != null) {
+            return service.findAll(status, priority, after, limit, fields);
+        }
+        return pages.execute(new PageKey(version, status, priority, after, limit, fields),
+                () -> service.findAll(status, priority, after, limit, fields));
+    }
+
+    /** Versión para el ETag de la lista: del almacén en memoria si puede responder la página. */
+    public TaskVersion findVersion(TaskStatus status, Priority priority) {
+        TaskVersion hot = fromHotStore() ? hotStore.version(status, priority) : null;
+        return hot != null ? hot : service.findVersion(status, priority);
+    }
+
+    public long count(TaskStatus status, Priority priority) {
+        long hot = hotStore != null ? hotStore.count(status, priority) : -1;
+        if (hot >= 0) {
+            return hot;
+        }
+        long count = 0;
+        for (TaskCount cell : statistics.snapshot(false).counts()) {
+            if ((status == null || cell.status() == status) && (priority == null || cell.priority() == priority)) {
+                count += cell.count();
+            }
+        }
+        return count;
+    }
+
+    /** Hay almacén en memoria y la petición no trae un token que su último repaso no cubra. */
+    private boolean fromHotStore() {
+        if (hotStore == null) {
+            return false;
+        }
+        Long token = ReadConsistency.current();
+        return token == null || hotStore.covers(token);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.taskId() != null) {
+            byId.forget(event.taskId());
+        } else {
+            byId.forgetAll();
+        }
+        pages.forgetAll();
+    }
+
+    private record PageKey(TaskVersion version, TaskStatus status, Priority priority, TaskCursor after, int limit,
+                           Set<TaskField> fields) {
+    }
+}
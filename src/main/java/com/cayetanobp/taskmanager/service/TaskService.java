@@ -1,63 +1,313 @@
 package com.cayetanobp.taskmanager.service;
 
+import com.cayetanobp.taskmanager.cache.TaskCache;
+import com.cayetanobp.taskmanager.dto.BatchUpdateTaskRequest;
 import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.dto.TaskCursor;
+import com.cayetanobp.taskmanager.dto.TaskField;
+import com.cayetanobp.taskmanager.dto.TaskPage;
 import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskVersion;
 import com.cayetanobp.taskmanager.dto.UpdateTaskRequest;
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
 import com.cayetanobp.taskmanager.exception.TaskNotFoundException;
+import com.cayetanobp.taskmanager.exception.TaskVersionConflictException;
 import com.cayetanobp.taskmanager.model.Priority;
 import com.cayetanobp.taskmanager.model.Task;
 import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.repository.ArchivedTaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskJdbcRepository;
 import com.cayetanobp.taskmanager.repository.TaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskSearchRepository;
+import com.cayetanobp.taskmanager.repository.TaskTombstoneRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TaskService {
 
     private final TaskRepository repository;
+    private final TaskJdbcRepository jdbcRepository;
+    private final TaskSearchRepository searchRepository;
+    private final ArchivedTaskRepository archiveRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskCache cache;
+    private final ApplicationEventPublisher events;
 
-    public TaskService(TaskRepository repository) {
+    public TaskService(TaskRepository repository, TaskJdbcRepository jdbcRepository,
+                       TaskSearchRepository searchRepository, ArchivedTaskRepository archiveRepository,
+                       TaskTombstoneRepository tombstoneRepository, TaskCache cache,
+                       ApplicationEventPublisher events) {
         this.repository = repository;
+        this.jdbcRepository = jdbcRepository;
+        this.searchRepository = searchRepository;
+        this.archiveRepository = archiveRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.cache = cache;
+        this.events = events;
     }
 
-    public List<TaskResponse> findAll(TaskStatus status, Priority priority) {
-        List<Task> tasks;
+    @Transactional(readOnly = true)
+    public TaskPage findAll(TaskStatus status, Priority priority, TaskCursor after, int limit) {
+        return findAll(status, priority, after, limit, TaskField.ALL);
+    }
+
+    @Transactional(readOnly = true)
+    public TaskPage findAll(TaskStatus status, Priority priority, TaskCursor after, int limit,
+                            Set<TaskField> fields) {
+        List<TaskResponse> tasks = fields.containsAll(TaskField.ALL)
+                ? findPage(status, priority, after, limit + 1)
+                : jdbcRepository.findPage(status, priority, after, limit + 1, fields);
+
+        List<TaskResponse> items = tasks.size() > limit ? tasks.subList(0, limit) : tasks;
+        String next = tasks.size() > limit
+                ? TaskCursor.after(items.get(items.size() - 1)).encode()
+                : null;
+        return new TaskPage(items, next);
+    }
+
+    private List<TaskResponse> findPage(TaskStatus status, Priority priority, TaskCursor after, int size) {
+        Pageable pageable = PageRequest.of(0, size);
+        List<TaskResponse> tasks;
+
+        if (after == null) {
+            if (status != null && priority != null) {
+                tasks = repository.findByStatusAndPriorityOrderByCreatedAtAscIdAsc(status, priority, pageable);
+            } else if (status != null) {
+                tasks = repository.findByStatusOrderByCreatedAtAscIdAsc(status, pageable);
+            } else if (priority != null) {
+                tasks = repository.findByPriorityOrderByCreatedAtAscIdAsc(priority, pageable);
+            } else {
+                tasks = repository.findAllByOrderByCreatedAtAscIdAsc(pageable);
+            }
+        } else {
+            if (status != null && priority != null) {
+                tasks = repository.findPageByStatusAndPriorityAfter(
+                        status, priority, after.createdAt(), after.id(), pageable);
+            } else if (status != null) {
+                tasks = repository.findPageByStatusAfter(status, after.createdAt(), after.id(), pageable);
+            } else if (priority != null) {
+                tasks = repository.findPageByPriorityAfter(priority, after.createdAt(), after.id(), pageable);
+            } else {
+                tasks = repository.findPageAfter(after.createdAt(), after.id(), pageable);
+            }
+        }
+        return tasks;
+    }
 
+    @Transactional(readOnly = true)
+    public TaskVersion findVersion(TaskStatus status, Priority priority) {
         if (status != null && priority != null) {
-            tasks = repository.findByStatusAndPriority(status, priority);
+            return repository.findVersionByStatusAndPriority(status, priority);
         } else if (status != null) {
-            tasks = repository.findByStatus(status);
+            return repository.findVersionByStatus(status);
         } else if (priority != null) {
-            tasks = repository.findByPriority(priority);
-        } else {
-            tasks = repository.findAll();
+            return repository.findVersionByPriority(priority);
         }
+        return repository.findVersion();
+    }
 
-        return tasks.stream().map(TaskResponse::from).toList();
+    @Transactional(readOnly = true)
+    public void streamAll(TaskStatus status, Priority priority, Consumer<TaskResponse> consumer) {
+        jdbcRepository.stream(status, priority, consumer);
     }
 
+    @Transactional(readOnly = true)
+    public TaskPage search(String text, int page, int limit) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("El texto de busqueda no puede estar vacio");
+        }
+        // En long: page * limit desborda un int con páginas altas y daría un OFFSET negativo.
+        List<TaskResponse> tasks = searchRepository.search(text.trim(), (long) page * limit, limit + 1);
+
+        List<TaskResponse> items = tasks.size() > limit ? tasks.subList(0, limit) : tasks;
+        String next = tasks.size() > limit ? String.valueOf(page + 1L) : null;
+        return new TaskPage(items, next);
+    }
+
+    @Transactional(readOnly = true)
     public TaskResponse findById(Long id) {
+        return cache.get(id, () -> repository.findResponseById(id)
+                .or(() -> archiveRepository.findResponseById(id))
+                .orElseThrow(() -> new TaskNotFoundException(id)));
+    }
+
+    @Transactional
+    public TaskResponse create(CreateTaskRequest request) {
+        Task saved = repository.save(newTask(request));
+        TaskResponse created = TaskResponse.from(saved);
+        events.publishEvent(TaskChangedEvent.created(created));
+        return created;
+    }
+
+    @Transactional
+    public List<TaskResponse> createAll(List<CreateTaskRequest> requests) {
+        List<Task> tasks = requests.stream()
+                .map(TaskService::newTask)
+                .toList();
+
+        List<TaskResponse> created = repository.saveAll(tasks).stream()
+                .map(TaskResponse::from)
+                .toList();
+        created.forEach(task -> events.publishEvent(TaskChangedEvent.created(task)));
+        return created;
+    }
+
+    @Transactional
+    public TaskResponse update(Long id, UpdateTaskRequest request) {
         Task task = repository.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException(id));
-        return TaskResponse.from(task);
+        TaskResponse previous = TaskResponse.from(task);
+
+        applyChanges(task, request);
+
+        Task updated = repository.save(task);
+        // @Version y @PreUpdate se aplican en el flush: sin él la respuesta llevaría la versión anterior.
+        repository.flush();
+        cache.invalidate(id);
+        return published(TaskResponse.from(updated), previous);
     }
 
-    public TaskResponse create(CreateTaskRequest request) {
+    @Transactional
+    public TaskResponse update(Long id, Long expectedVersion, UpdateTaskRequest request) {
+        // La fila en la versión esperada es exactamente la que se sustituye si la actualización gana.
+        TaskResponse current = cache.peek(id);
+        if (current == null || !expectedVersion.equals(current.version())) {
+            current = repository.findResponseById(id)
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+            if (!expectedVersion.equals(current.version())) {
+                throw new TaskVersionConflictException(id);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated = repository.updateIfVersion(id, expectedVersion,
+                request.title(), request.description(), request.status(), request.priority(), now);
+
+        if (updated == 0) {
+            if (!repository.existsById(id)) {
+                throw new TaskNotFoundException(id);
+            }
+            throw new TaskVersionConflictException(id);
+        }
+
+        cache.invalidate(id);
+        return published(new TaskResponse(
+                id,
+                request.title() != null ? request.title() : current.title(),
+                request.description() != null ? request.description() : current.description(),
+                request.status() != null ? request.status() : current.status(),
+                request.priority() != null ? request.priority() : current.priority(),
+                current.createdAt(),
+                now,
+                expectedVersion + 1
+        ), current);
+    }
+
+    @Transactional
+    public List<TaskResponse> updateAll(List<BatchUpdateTaskRequest.Item> items) {
+        Map<Long, Task> tasks = repository.findAllById(items.stream().map(BatchUpdateTaskRequest.Item::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<Task> updated = new ArrayList<>(items.size());
+        List<TaskResponse> previous = new ArrayList<>(items.size());
+        for (BatchUpdateTaskRequest.Item item : items) {
+            Task task = tasks.get(item.id());
+            if (task == null) {
+                throw new TaskNotFoundException(item.id());
+            }
+            previous.add(TaskResponse.from(task));
+            applyChanges(task, item.changes());
+            updated.add(task);
+        }
+
+        repository.flush();
+        cache.invalidateAll(tasks.keySet());
+        List<TaskResponse> result = new ArrayList<>(updated.size());
+        for (int i = 0; i < updated.size(); i++) {
+            result.add(published(TaskResponse.from(updated.get(i)), previous.get(i)));
+        }
+        return result;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        TaskResponse previous = jdbcRepository.deleteReturning(List.of(id), LocalDateTime.now()).stream()
+                .findFirst()
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        cache.invalidate(id);
+        events.publishEvent(TaskChangedEvent.deleted(id, previous));
+    }
+
+    @Transactional
+    public int deleteMatching(TaskStatus status, Priority priority) {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted;
+        if (status != null && priority != null) {
+            tombstoneRepository.insertForStatusAndPriority(status, priority, now);
+            deleted = repository.removeByStatusAndPriority(status, priority);
+        } else if (status != null) {
+            tombstoneRepository.insertForStatus(status, now);
+            deleted = repository.removeByStatus(status);
+        } else if (priority != null) {
+            tombstoneRepository.insertForPriority(priority, now);
+            deleted = repository.removeByPriority(priority);
+        } else {
+            throw new IllegalArgumentException("Indica al menos un filtro (status o priority) para el borrado masivo");
+        }
+
+        if (deleted > 0) {
+            cache.invalidateAll();
+            events.publishEvent(TaskChangedEvent.deletedMatching(status, priority));
+        }
+        return deleted;
+    }
+
+    @Transactional
+    public void deleteAll(List<Long> ids) {
+        // Solo se notifican los ids que existían; el resto no tiene nada que borrar.
+        List<Long> distinct = ids.stream().distinct().toList();
+        Map<Long, TaskResponse> previous = jdbcRepository.deleteReturning(distinct, LocalDateTime.now()).stream()
+                .collect(Collectors.toMap(TaskResponse::id, task -> task));
+        if (previous.isEmpty()) {
+            return;
+        }
+        List<Long> existing = distinct.stream()
+                .filter(previous::containsKey)
+                .toList();
+        cache.invalidateAll(existing);
+        existing.forEach(id -> events.publishEvent(TaskChangedEvent.deleted(id, previous.get(id))));
+    }
+
+    private TaskResponse published(TaskResponse task, TaskResponse previous) {
+        events.publishEvent(TaskChangedEvent.updated(task, previous));
+        return task;
+    }
+
+    private static Task newTask(CreateTaskRequest request) {
         Task task = new Task();
         task.setTitle(request.title());
         task.setDescription(request.description());
         task.setPriority(request.priority() != null ? request.priority() : Priority.MEDIUM);
         task.setStatus(TaskStatus.PENDING);
-
-        Task saved = repository.save(task);
-        return TaskResponse.from(saved);
+        return task;
     }
 
-    public TaskResponse update(Long id, UpdateTaskRequest request) {
-        Task task = repository.findById(id)
-                .orElseThrow(() -> new TaskNotFoundException(id));
-
+    private static void applyChanges(Task task, UpdateTaskRequest request) {
         if (request.title() != null) {
             task.setTitle(request.title());
         }
@@ -70,15 +320,5 @@ public class TaskService {
         if (request.priority() != null) {
             task.setPriority(request.priority());
         }
-
-        Task updated = repository.save(task);
-        return TaskResponse.from(updated);
-    }
-
-    public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new TaskNotFoundException(id);
-        }
-        repository.deleteById(id);
     }
 }
@@ -0,0 +1,105 @@
+package com.cayetanobp.taskmanager.service;
+
+import com.cayetanobp.taskmanager.dto.ChangedTask;
+import com.cayetanobp.taskmanager.dto.SyncToken;
+import com.cayetanobp.taskmanager.dto.TaskChanges;
+import com.cayetanobp.taskmanager.exception.SyncTokenExpiredException;
+import com.cayetanobp.taskmanager.model.TaskTombstone;
+import com.cayetanobp.taskmanager.repository.SyncClockRepository;
+import com.cayetanobp.taskmanager.repository.TaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sincronización por diferencias. Recorre dos índices en paralelo: {@code (change_seq, id)} de
+ * {@code tasks} para altas y cambios, y {@code (change_seq, task_id)} de {@code task_tombstones}
+ * para borrados. La marca de agua es la de {@link TaskChangeClock}, que va lo bastante retrasada
+ * como para que nada que se confirme después quede por debajo. Se lee en el primario, porque una
+ * réplica atrasada no tendría aún todo lo que hay por debajo de la marca. Otro nodo puede haber
+ * dado al cliente una marca algo más reciente que la de este: entonces la posición no se mueve.
+ */
+@Service
+public class TaskSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSyncService.class);
+
+    private final TaskRepository repository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskChangeClock clock;
+    private final SyncClockRepository clockRepository;
+    private final Duration tombstoneRetention;
+
+    public TaskSyncService(TaskRepository repository, TaskTombstoneRepository tombstoneRepository,
+                           TaskChangeClock clock, SyncClockRepository clockRepository,
+                           @Value("${task.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.repository = repository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.clock = clock;
+        this.clockRepository = clockRepository;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Transactional
+    public TaskChanges changes(SyncToken since, int limit) {
+        long watermark = clock.watermark();
+        SyncToken token = since != null ? since : SyncToken.initial(watermark);
+
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<ChangedTask> changed = repository.findChangedAfter(
+                token.changeSeq(), token.changeId(), watermark, pageable);
+        List<TaskTombstone> deleted = tombstoneRepository.findPageAfter(
+                token.deleteSeq(), token.deleteId(), watermark, pageable);
+        // Después de leer: si una purga ha borrado marcas que el cliente no tenía, esta página
+        // podría no incluirlas.
+        if (!token.hasDeletesUpTo(clock.pruned())) {
+            throw new SyncTokenExpiredException();
+        }
+
+        boolean hasMore = changed.size() > limit || deleted.size() > limit;
+        // Un índice sin más filas hasta la marca de agua ya no puede recibirlas: la posición
+        // avanza hasta ella para que la siguiente consulta empiece ahí y el token no caduque.
+        if (changed.size() > limit) {
+            changed = changed.subList(0, limit);
+            ChangedTask last = changed.get(limit - 1);
+            token = token.withChanged(last.changeSeq(), last.task().id());
+        } else if (watermark >= token.changeSeq()) {
+            token = token.withChanged(watermark, SyncToken.CONSUMED);
+        }
+        if (deleted.size() > limit) {
+            deleted = deleted.subList(0, limit);
+            TaskTombstone last = deleted.get(limit - 1);
+            token = token.withDeleted(last.getChangeSeq(), last.getTaskId());
+        } else if (watermark >= token.deleteSeq()) {
+            token = token.withDeleted(watermark, SyncToken.CONSUMED);
+        }
+
+        return new TaskChanges(changed.stream().map(ChangedTask::task).toList(),
+                deleted.stream().map(TaskTombstone::getTaskId).toList(), token.encode(), hasMore);
+    }
+
+    @Scheduled(fixedDelayString = "${task.changes.prune-interval-ms:3600000}")
+    @Transactional
+    public void pruneTombstones() {
+        Long horizon = tombstoneRepository.pruneHorizon(LocalDateTime.now().minus(tombstoneRetention));
+        if (horizon == null) {
+            return;
+        }
+        // Primero la marca de purga, para que un token por debajo caduque en vez de perder borrados.
+        clockRepository.advancePruned(horizon);
+        int removed = tombstoneRepository.removeUpTo(horizon);
+        if (removed > 0) {
+            log.info("Purgadas {} marcas de borrado anteriores a {}", removed, tombstoneRetention);
+        }
+    }
+}
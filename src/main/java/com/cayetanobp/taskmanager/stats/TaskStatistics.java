@@ -0,0 +1,249 @@
+package com.cayetanobp.taskmanager.stats;
+
+import com.cayetanobp.taskmanager.dto.TaskChangeSeq;
+import com.cayetanobp.taskmanager.dto.TaskCount;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskStats;
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.repository.TaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskTombstoneRepository;
+import com.cayetanobp.taskmanager.service.TaskChangeClock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Contadores en memoria por estado y prioridad (y por día de creación) que se actualizan con
+ * cada cambio confirmado. Cuando un evento no trae el estado anterior (borrados por filtro o
+ * tareas que no estaban en caché) los contadores se marcan como obsoletos y se recalculan con un
+ * {@code GROUP BY}; también se recalculan periódicamente para corregir cualquier deriva.
+ *
+ * <p>El recálculo hace los dos {@code GROUP BY} en una instantánea. Los eventos que llegan
+ * mientras tanto se guardan con el número de cambio de {@link TaskChangeClock} y, antes de cerrar
+ * la instantánea, se consulta en ella el {@code change_seq} de sus tareas y marcas de borrado: si
+ * es igual o mayor que el del evento, la instantánea ya lo contaba y se descarta; si no, se aplica
+ * sobre el resultado. Los números no llegan en orden de commit, así que no basta con compararlos
+ * con una marca de agua.
+ */
+@Component
+public class TaskStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatistics.class);
+
+    private static final Comparator<TaskCount> ORDER = Comparator
+            .comparing(TaskCount::day, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(TaskCount::status)
+            .thenComparing(TaskCount::priority);
+
+    private final TaskRepository repository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskChangeClock changeClock;
+    private final TransactionTemplate snapshotTemplate;
+    private final Duration reconcileInterval;
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+    private final Object lock = new Object();
+    private volatile Map<Cell, LongAdder> cells;
+    private volatile LocalDateTime reconciledAt;
+    private List<Change> duringReconcile;
+
+    public TaskStatistics(TaskRepository repository, TaskTombstoneRepository tombstoneRepository,
+                          TaskChangeClock changeClock,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${task.stats.reconcile-interval:5m}") Duration reconcileInterval) {
+        this.repository = repository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeClock = changeClock;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public TaskStats snapshot(boolean byDay) {
+        Map<Cell, LongAdder> current = cells;
+        if (current == null) {
+            reconcile();
+            current = cells;
+        }
+
+        List<TaskCount> counts = new ArrayList<>();
+        long total = 0;
+        if (byDay) {
+            for (Map.Entry<Cell, LongAdder> entry : current.entrySet()) {
+                Cell cell = entry.getKey();
+                long count = entry.getValue().sum();
+                if (cell.day() != null && count > 0) {
+                    counts.add(new TaskCount(cell.status(), cell.priority(), cell.day(), count));
+                }
+            }
+        }
+        for (TaskStatus status : TaskStatus.values()) {
+            for (Priority priority : Priority.values()) {
+                LongAdder adder = current.get(new Cell(status, priority, null));
+                long count = adder != null ? adder.sum() : 0;
+                total += count;
+                if (!byDay) {
+                    counts.add(new TaskCount(status, priority, count));
+                }
+            }
+        }
+        counts.sort(ORDER);
+        return new TaskStats(counts, total, reconciledAt);
+    }
+
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        long seq = changeClock.committedSeq();
+        synchronized (lock) {
+            if (duringReconcile != null) {
+                duringReconcile.add(new Change(event, seq));
+            }
+            Map<Cell, LongAdder> current = cells;
+            if (current != null) {
+                apply(current, event);
+            }
+        }
+    }
+
+    private void apply(Map<Cell, LongAdder> current, TaskChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> add(current, event.task(), 1);
+            case UPDATED -> {
+                if (event.previous() == null) {
+                    stale.set(true);
+                } else {
+                    add(current, event.previous(), -1);
+                    add(current, event.task(), 1);
+                }
+            }
+            case DELETED -> {
+                if (event.previous() == null) {
+                    stale.set(true);
+                } else {
+                    add(current, event.previous(), -1);
+                }
+            }
+            case DELETED_MATCHING, IMPORTED, ARCHIVED -> stale.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${task.stats.check-interval-ms:5000}")
+    public void reconcileIfNeeded() {
+        LocalDateTime last = reconciledAt;
+        if (stale.get() || last == null || last.plus(reconcileInterval).isBefore(LocalDateTime.now())) {
+            try {
+                reconcile();
+            } catch (RuntimeException ex) {
+                log.warn("No se pudieron recalcular las estadisticas: {}", ex.getMessage());
+            }
+        }
+    }
+
+    public synchronized void reconcile() {
+        stale.set(false);
+        LocalDateTime startedAt = LocalDateTime.now();
+        synchronized (lock) {
+            duringReconcile = new ArrayList<>();
+        }
+        try {
+            Map<Cell, LongAdder> fresh = new ConcurrentHashMap<>();
+            snapshotTemplate.executeWithoutResult(status -> {
+                for (TaskCount count : repository.countGroupedByStatusAndPriority()) {
+                    adder(fresh, new Cell(count.status(), count.priority(), null)).add(count.count());
+                }
+                for (TaskCount count : repository.countGroupedByStatusPriorityAndDay()) {
+                    adder(fresh, new Cell(count.status(), count.priority(), count.day())).add(count.count());
+                }
+
+                // Aún en la instantánea y con el bloqueo, para que no se cuele ningún evento entre
+                // la consulta y el cambio de contadores.
+                synchronized (lock) {
+                    Set<Long> ids = duringReconcile.stream()
+                            .map(change -> change.event().taskId())
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet());
+                    Map<Long, Long> taskSeqs = ids.isEmpty() ? Map.of() : seqs(repository.findChangeSeqs(ids));
+                    Map<Long, Long> tombstoneSeqs = ids.isEmpty() ? Map.of() : seqs(tombstoneRepository.findChangeSeqs(ids));
+                    for (Change change : duringReconcile) {
+                        if (change.seq() < 0) {
+                            // Sin número no se sabe si la instantánea lo incluye.
+                            stale.set(true);
+                        } else if (!inSnapshot(change, taskSeqs, tombstoneSeqs)) {
+                            apply(fresh, change.event());
+                        }
+                    }
+                    cells = fresh;
+                    reconciledAt = startedAt;
+                }
+            });
+        } finally {
+            synchronized (lock) {
+                duringReconcile = null;
+            }
+        }
+    }
+
+    /**
+     * La instantánea incluye el cambio si la tarea, o su marca de borrado, tiene ese número o uno
+     * posterior: los cambios de una misma fila se confirman en orden.
+     */
+    private static boolean inSnapshot(Change change, Map<Long, Long> taskSeqs, Map<Long, Long> tombstoneSeqs) {
+        Long id = change.event().taskId();
+        if (id == null) {
+            return false;
+        }
+        return taskSeqs.getOrDefault(id, -1L) >= change.seq() || tombstoneSeqs.getOrDefault(id, -1L) >= change.seq();
+    }
+
+    private static Map<Long, Long> seqs(List<TaskChangeSeq> rows) {
+        Map<Long, Long> seqs = new HashMap<>();
+        for (TaskChangeSeq row : rows) {
+            if (row.changeSeq() != null) {
+                seqs.put(row.id(), row.changeSeq());
+            }
+        }
+        return seqs;
+    }
+
+    private static void add(Map<Cell, LongAdder> cells, TaskResponse task, long delta) {
+        adder(cells, new Cell(task.status(), task.priority(), null)).add(delta);
+        if (task.createdAt() != null) {
+            adder(cells, new Cell(task.status(), task.priority(), task.createdAt().toLocalDate())).add(delta);
+        }
+    }
+
+    private static LongAdder adder(Map<Cell, LongAdder> cells, Cell cell) {
+        return cells.computeIfAbsent(cell, key -> new LongAdder());
+    }
+
+    private record Change(TaskChangedEvent event, long seq) {
+    }
+
+    private record Cell(TaskStatus status, Priority priority, LocalDate day) {
+    }
+}
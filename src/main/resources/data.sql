@@ -1,7 +1,7 @@
-INSERT INTO tasks (title, description, status, priority, created_at, updated_at) VALUES
-('Revisar pull request', 'Revisar PR #42 del equipo de backend', 'PENDING', 'HIGH', NOW(), NOW()),
-('Escribir tests unitarios', 'Cubrir el servicio de tareas con Mockito', 'IN_PROGRESS', 'HIGH', NOW(), NOW()),
-('Configurar Docker Compose', 'Orquestar PostgreSQL y la API en contenedores', 'DONE', 'MEDIUM', NOW(), NOW()),
-('Documentar endpoints', 'Escribir ejemplos de uso con curl en el README', 'DONE', 'MEDIUM', NOW(), NOW()),
-('Implementar filtrado', 'Filtrar tareas por estado y prioridad via query params', 'DONE', 'LOW', NOW(), NOW()),
-('Añadir Swagger UI', 'Integrar SpringDoc OpenAPI para documentacion interactiva', 'PENDING', 'MEDIUM', NOW(), NOW());
+INSERT INTO tasks (id, title, description, status, priority, created_at, updated_at) VALUES
+(nextval('tasks_seq'), 'Revisar pull request', 'Revisar PR #42 del equipo de backend', 'PENDING', 'HIGH', NOW(), NOW()),
+(nextval('tasks_seq'), 'Escribir tests unitarios', 'Cubrir el servicio de tareas con Mockito', 'IN_PROGRESS', 'HIGH', NOW(), NOW()),
+(nextval('tasks_seq'), 'Configurar Docker Compose', 'Orquestar PostgreSQL y la API en contenedores', 'DONE', 'MEDIUM', NOW(), NOW()),
+(nextval('tasks_seq'), 'Documentar endpoints', 'Escribir ejemplos de uso con curl en el README', 'DONE', 'MEDIUM', NOW(), NOW()),
+(nextval('tasks_seq'), 'Implementar filtrado', 'Filtrar tareas por estado y prioridad via query params', 'DONE', 'LOW', NOW(), NOW()),
+(nextval('tasks_seq'), 'Añadir Swagger UI', 'Integrar SpringDoc OpenAPI para documentacion interactiva', 'PENDING', 'MEDIUM', NOW(), NOW());
@@ -0,0 +1,34 @@
+CREATE INDEX IF NOT EXISTS idx_tasks_open_status_priority_created_at
+    ON tasks (status, priority, created_at, id)
+    WHERE status <> 'DONE';
+
+CREATE INDEX IF NOT EXISTS idx_tasks_done_updated_at_id
+    ON tasks (updated_at, id)
+    WHERE status = 'DONE';
+
+-- Pasos que deben ejecutarse una sola vez por base de datos, no en cada arranque.
+CREATE TABLE IF NOT EXISTS task_schema_migrations (
+    name       VARCHAR(100) PRIMARY KEY,
+    applied_at TIMESTAMP    NOT NULL DEFAULT NOW()
+);
+
+-- Al pasar de IDENTITY a tasks_seq la secuencia debe empezar detrás de los ids existentes. Solo la
+-- instancia que inserta la marca mueve la secuencia; las demás esperan a su commit y no hacen nada,
+-- así que nunca se retrasa una secuencia que otro nodo ya está usando.
+WITH applied AS (
+    INSERT INTO task_schema_migrations (name) VALUES ('tasks_seq_after_existing_ids')
+    ON CONFLICT (name) DO NOTHING
+    RETURNING name
+)
+SELECT setval('tasks_seq', GREATEST(
+        (SELECT last_value FROM tasks_seq),
+        (SELECT COALESCE(MAX(id), 0) + 100 FROM tasks)))
+FROM applied;
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_search_vector ON tasks USING GIN (search_vector);
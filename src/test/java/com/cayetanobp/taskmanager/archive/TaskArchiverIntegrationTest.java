@@ -0,0 +1,135 @@
+package com.cayetanobp.taskmanager.archive;
+
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.Task;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.repository.ArchivedTaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskRepository;
+import com.cayetanobp.taskmanager.stats.TaskStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archivedb",
+        "task.archive.enabled=true",
+        "task.archive.interval-ms=3600000",
+        "task.archive.age=7d",
+        "task.archive.batch-size=2",
+        "task.archive.pause=0ms"
+})
+@AutoConfigureMockMvc
+class TaskArchiverIntegrationTest {
+
+    @Autowired
+    private TaskArchiver archiver;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private ArchivedTaskRepository archiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskStatistics statistics;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        archiveRepository.deleteAll();
+    }
+
+    private Task createTask(String title, TaskStatus status, int daysAgo) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(status);
+        task.setPriority(Priority.MEDIUM);
+        Task saved = repository.save(task);
+        jdbcTemplate.update("UPDATE tasks SET updated_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(daysAgo)), saved.getId());
+        return saved;
+    }
+
+    @Test
+    @DisplayName("archiva en lotes solo las tareas terminadas antiguas")
+    void archivesOnlyOldDoneTasks() throws Exception {
+        createTask("Vieja 1", TaskStatus.DONE, 30);
+        createTask("Vieja 2", TaskStatus.DONE, 20);
+        createTask("Vieja 3", TaskStatus.DONE, 10);
+        createTask("Reciente", TaskStatus.DONE, 1);
+        createTask("Pendiente vieja", TaskStatus.PENDING, 30);
+
+        assertThat(archiver.archive()).isEqualTo(3);
+
+        assertThat(repository.findAll())
+                .extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("Reciente", "Pendiente vieja");
+        assertThat(archiveRepository.count()).isEqualTo(3);
+        assertThat(archiver.archive()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks/{id} sigue encontrando las tareas archivadas")
+    void archivedTasksStayReadable() throws Exception {
+        Task task = createTask("Archivada", TaskStatus.DONE, 30);
+
+        archiver.archive();
+
+        mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Archivada"))
+                .andExpect(jsonPath("$.status").value("DONE"));
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    @DisplayName("las tareas archivadas salen de listados, busqueda, estadisticas y exportacion")
+    void archivedTasksLeaveLiveViews() throws Exception {
+        createTask("Informe archivado", TaskStatus.DONE, 30);
+        createTask("Informe vivo", TaskStatus.PENDING, 30);
+
+        archiver.archive();
+        statistics.reconcile();
+
+        mockMvc.perform(get("/api/tasks"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Informe vivo"));
+        mockMvc.perform(get("/api/tasks/search").param("q", "informe"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Informe vivo"));
+        mockMvc.perform(get("/api/tasks/stats"))
+                .andExpect(jsonPath("$.total").value(1));
+
+        MvcResult export = mockMvc.perform(get("/api/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String exported = mockMvc.perform(asyncDispatch(export))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(exported.lines()).singleElement().asString().contains("\"title\":\"Informe vivo\"");
+    }
+}
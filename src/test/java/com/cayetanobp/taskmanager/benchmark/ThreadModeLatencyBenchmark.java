@@ -0,0 +1,88 @@
+package com.cayetanobp.taskmanager.benchmark;
+
+import com.cayetanobp.taskmanager.TaskManagerApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compara la latencia de GET /api/tasks con hilos de plataforma y con hilos virtuales.
+ * No forma parte de la suite normal; se ejecuta con:
+ * {@code mvn test -Dtest=ThreadModeLatencyBenchmark -Dbenchmark.requests=20000 -Dbenchmark.concurrency=500}
+ */
+class ThreadModeLatencyBenchmark {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 200);
+
+    @Test
+    void comparesPlatformAndVirtualThreads() throws Exception {
+        System.out.println(run("platform", "spring.threads.virtual.enabled=false"));
+        if (Runtime.version().feature() >= 21) {
+            System.out.println(run("virtual",
+                    "spring.threads.virtual.enabled=true",
+                    "task.datasource.concurrency-limit=10"));
+        } else {
+            System.out.println("virtual: omitido, requiere Java 21 (actual " + Runtime.version() + ")");
+        }
+    }
+
+    private static String run(String mode, String... properties) throws Exception {
+        List<String> args = new ArrayList<>(List.of("server.port=0", "spring.datasource.url=jdbc:h2:mem:" + mode));
+        args.addAll(List.of(properties));
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TaskManagerApplication.class)
+                .properties(args.toArray(String[]::new))
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + "/api/tasks?limit=50");
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>(REQUESTS));
+            ExecutorService callers = Executors.newFixedThreadPool(CONCURRENCY);
+            try {
+                List<CompletableFuture<Void>> calls = new ArrayList<>(REQUESTS);
+                for (int i = 0; i < REQUESTS; i++) {
+                    calls.add(CompletableFuture.runAsync(() -> latencies.add(timeRequest(client, uri)), callers));
+                }
+                CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+            } finally {
+                callers.shutdown();
+            }
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return String.format("%s: requests=%d concurrency=%d p50=%.2fms p99=%.2fms max=%.2fms",
+                    mode, REQUESTS, CONCURRENCY,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), sorted.get(sorted.size() - 1) / 1e6);
+        }
+    }
+
+    private static long timeRequest(HttpClient client, URI uri) {
+        long start = System.nanoTime();
+        try {
+            client.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding());
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static double percentile(List<Long> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1e6;
+    }
+}
@@ -0,0 +1,111 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.model.Priority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CopyTaskBulkWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 9, 30);
+
+    private Connection connection;
+    private Statement statement;
+    private PreparedStatement insert;
+    private CopyIn copy;
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        insert = mock(PreparedStatement.class);
+        copy = mock(CopyIn.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(connection.prepareStatement(startsWith("INSERT INTO tasks"))).thenReturn(insert);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(startsWith("COPY task_import"))).thenReturn(copy);
+        doAnswer(invocation -> {
+            copied.write(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copy).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("escribe filas CSV con comillas, NULL y prioridad por defecto y las inserta en orden")
+    void copiesRowsAndInsertsThem() throws Exception {
+        when(insert.executeUpdate()).thenReturn(3);
+
+        try (CopyTaskBulkWriter writer = new CopyTaskBulkWriter(connection, NOW)) {
+            writer.add(new CreateTaskRequest("Dijo \"hola\", y se fue", "linea 1\nlinea 2", Priority.HIGH));
+            writer.add(new CreateTaskRequest("Sin descripcion", null, null));
+            writer.add(new CreateTaskRequest("Vacia", "", Priority.LOW));
+
+            assertThat(writer.finish()).isEqualTo(3);
+        }
+
+        assertThat(copied.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                1,"Dijo ""hola"", y se fue","linea 1
+                linea 2",HIGH
+                2,"Sin descripcion",,MEDIUM
+                3,"Vacia","",LOW
+                """);
+        verify(statement).execute(startsWith("CREATE TEMP TABLE task_import"));
+        InOrder order = inOrder(copy, insert);
+        order.verify(copy).endCopy();
+        order.verify(insert).executeUpdate();
+        verify(insert).setTimestamp(1, Timestamp.valueOf(NOW));
+        verify(insert).setTimestamp(2, Timestamp.valueOf(NOW));
+    }
+
+    @Test
+    @DisplayName("envia el buffer en bloques cuando supera el umbral")
+    void flushesLargeInputsInChunks() throws Exception {
+        String description = "x".repeat(400);
+
+        try (CopyTaskBulkWriter writer = new CopyTaskBulkWriter(connection, NOW)) {
+            for (int i = 0; i < 200; i++) {
+                writer.add(new CreateTaskRequest("Tarea " + i, description, null));
+            }
+            verify(copy, atLeastOnce()).writeToCopy(any(byte[].class), anyInt(), anyInt());
+            writer.finish();
+        }
+
+        assertThat(copied.toString(StandardCharsets.UTF_8).lines()).hasSize(200);
+    }
+
+    @Test
+    @DisplayName("cancela el COPY si se cierra sin terminar")
+    void cancelsUnfinishedCopy() throws Exception {
+        when(copy.isActive()).thenReturn(true);
+
+        try (CopyTaskBulkWriter writer = new CopyTaskBulkWriter(connection, NOW)) {
+            writer.add(new CreateTaskRequest("A medias", null, null));
+        }
+
+        verify(copy).cancelCopy();
+        verify(copy, never()).endCopy();
+        verifyNoInteractions(insert);
+    }
+}
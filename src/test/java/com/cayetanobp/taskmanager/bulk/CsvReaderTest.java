@@ -0,0 +1,46 @@
+package com.cayetanobp.taskmanager.bulk;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    @DisplayName("separa campos simples y admite CRLF")
+    void readsPlainFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b,c\r\nd,,f\r\n"), 1000);
+
+        assertThat(csv.next()).containsExactly("a", "b", "c");
+        assertThat(csv.next()).containsExactly("d", "", "f");
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("respeta comillas, comillas dobles y saltos de linea entrecomillados")
+    void readsQuotedFields() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("\"a, b\",\"dijo \"\"hola\"\"\",\"linea 1\nlinea 2\"\nultima"), 1000);
+
+        assertThat(csv.next()).containsExactly("a, b", "dijo \"hola\"", "linea 1\nlinea 2");
+        assertThat(csv.recordLine()).isEqualTo(1);
+        assertThat(csv.next()).containsExactly("ultima");
+        assertThat(csv.recordLine()).isEqualTo(3);
+        assertThat(csv.next()).isNull();
+    }
+
+    @Test
+    @DisplayName("rechaza un registro mas largo que el maximo aunque la comilla no se cierre")
+    void rejectsOversizeRecords() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("corto\n\"sin cerrar, " + "x".repeat(100)), 20);
+
+        assertThat(csv.next()).containsExactly("corto");
+        assertThatThrownBy(csv::next)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("linea 2");
+    }
+}
@@ -0,0 +1,176 @@
+package com.cayetanobp.taskmanager.cache;
+
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseBytesCacheTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 1, 9, 30);
+
+    private InMemoryCacheInvalidationBroker broker;
+    private ResponseBytesCache cache;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        broker = new InMemoryCacheInvalidationBroker();
+        cache = new ResponseBytesCache(DataSize.ofKilobytes(64), DataSize.ofBytes(512), Duration.ofMinutes(5),
+                objectMapper, broker, new SimpleMeterRegistry());
+    }
+
+    private static TaskResponse task(Long id, String description) {
+        return new TaskResponse(id, "Tarea " + id, description, TaskStatus.PENDING, Priority.LOW, CREATED, CREATED, 0L);
+    }
+
+    private SerializedResponse load(Long id, AtomicInteger loads) {
+        return cache.get(ResponseBytesCache.taskKey(id), () -> {
+            loads.incrementAndGet();
+            return cache.serialize(task(id, null), id + "-0", 0, null);
+        });
+    }
+
+    @Test
+    @DisplayName("sirve los aciertos sin volver a serializar")
+    void servesHitsWithoutSerializing() {
+        AtomicInteger loads = new AtomicInteger();
+
+        SerializedResponse first = load(1L, loads);
+        SerializedResponse second = load(1L, loads);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.json()).isSameAs(first.json());
+        assertThat(new String(first.json(), StandardCharsets.UTF_8))
+                .contains("\"title\":\"Tarea 1\"")
+                .contains("\"createdAt\":\"2026-03-01T09:30:00\"");
+    }
+
+    @Test
+    @DisplayName("solo comprime los cuerpos grandes")
+    void gzipsOnlyLargeBodies() throws IOException {
+        SerializedResponse small = cache.serialize(task(1L, "corta"), null, 0, null);
+        SerializedResponse large = cache.serialize(task(2L, "x".repeat(600)), null, 0, null);
+
+        assertThat(small.gzip()).isNull();
+        assertThat(large.gzip()).isNotNull().hasSizeLessThan(large.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(large.gzip()))) {
+            assertThat(in.readAllBytes()).isEqualTo(large.json());
+        }
+    }
+
+    @Test
+    @DisplayName("una escritura invalida su tarea y todas las paginas, pero no las demas tareas")
+    void writeInvalidatesTaskAndPages() {
+        AtomicInteger loads = new AtomicInteger();
+        load(1L, loads);
+        load(2L, loads);
+        Object page = ResponseBytesCache.pageKey("etag-pagina");
+        cache.get(page, () -> cache.serialize(new Object[0], null, 0, null));
+
+        cache.onTaskChanged(TaskChangedEvent.updated(task(1L, null), null));
+
+        load(1L, loads);
+        load(2L, loads);
+        assertThat(loads).hasValue(3);
+        AtomicInteger pageLoads = new AtomicInteger();
+        cache.get(page, () -> {
+            pageLoads.incrementAndGet();
+            return cache.serialize(new Object[0], null, 0, null);
+        });
+        assertThat(pageLoads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("invalida las tareas modificadas en otros nodos")
+    void invalidatesRemoteWrites() {
+        AtomicInteger loads = new AtomicInteger();
+        load(1L, loads);
+
+        broker.publish(new CacheInvalidation("otro-nodo", 1L));
+
+        load(1L, loads);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("no guarda una respuesta cargada mientras se invalidaba")
+    void doesNotStoreResponseLoadedDuringWrite() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(ResponseBytesCache.taskKey(1L), () -> {
+            loads.incrementAndGet();
+            cache.onTaskChanged(TaskChangedEvent.updated(task(1L, null), null));
+            return cache.serialize(task(1L, null), "1-0", 0, null);
+        });
+        load(1L, loads);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("guarda una respuesta aunque durante la carga se escribiera otra tarea")
+    void storesResponseWhenOtherTaskChanges() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(ResponseBytesCache.taskKey(1L), () -> {
+            loads.incrementAndGet();
+            cache.onTaskChanged(TaskChangedEvent.updated(task(2L, null), null));
+            return cache.serialize(task(1L, null), "1-0", 0, null);
+        });
+        load(1L, loads);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("no guarda una pagina cargada mientras se escribia cualquier tarea")
+    void doesNotStorePageLoadedDuringWrite() {
+        Object page = ResponseBytesCache.pageKey("etag-pagina");
+        AtomicInteger pageLoads = new AtomicInteger();
+
+        cache.get(page, () -> {
+            pageLoads.incrementAndGet();
+            broker.publish(new CacheInvalidation("otro-nodo", 7L));
+            return cache.serialize(new Object[0], null, 0, null);
+        });
+        cache.get(page, () -> {
+            pageLoads.incrementAndGet();
+            return cache.serialize(new Object[0], null, 0, null);
+        });
+
+        assertThat(pageLoads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("acota la cache por bytes totales")
+    void boundsByTotalBytes() {
+        for (long id = 1; id <= 200; id++) {
+            Long taskId = id;
+            cache.get(ResponseBytesCache.taskKey(taskId),
+                    () -> cache.serialize(task(taskId, "y".repeat(500)), null, 0, null));
+        }
+
+        assertThat(cache.weightedSize()).isLessThanOrEqualTo(DataSize.ofKilobytes(64).toBytes());
+    }
+}
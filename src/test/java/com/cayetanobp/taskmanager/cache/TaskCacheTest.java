@@ -0,0 +1,103 @@
+package com.cayetanobp.taskmanager.cache;
+
+import com.cayetanobp.taskmanager.config.ReadConsistency;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+
+    private CacheInvalidationBroker broker;
+    private MeterRegistry meterRegistry;
+    private TaskCache cache;
+
+    @BeforeEach
+    void setUp() {
+        broker = new InMemoryCacheInvalidationBroker();
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new TaskCache(100, Duration.ofMinutes(5), broker, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadConsistency.clear();
+    }
+
+    private static TaskResponse task(Long id, String title) {
+        LocalDateTime now = LocalDateTime.now();
+        return new TaskResponse(id, title, null, TaskStatus.PENDING, Priority.MEDIUM, now, now, 0L);
+    }
+
+    @Test
+    @DisplayName("registra aciertos y fallos en las metricas")
+    void recordsHitsAndMisses() {
+        cache.get(1L, () -> task(1L, "Uno"));
+        cache.get(1L, () -> task(1L, "Uno"));
+
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("propaga la invalidacion a otros nodos a traves del broker")
+    void propagatesInvalidationToOtherNodes() {
+        TaskCache otherNode = new TaskCache(100, Duration.ofMinutes(5), broker, new SimpleMeterRegistry());
+        AtomicInteger loads = new AtomicInteger();
+
+        otherNode.get(1L, () -> {
+            loads.incrementAndGet();
+            return task(1L, "Uno");
+        });
+        cache.invalidate(1L);
+        TaskResponse reloaded = otherNode.get(1L, () -> {
+            loads.incrementAndGet();
+            return task(1L, "Uno actualizado");
+        });
+
+        assertThat(loads).hasValue(2);
+        assertThat(reloaded.title()).isEqualTo("Uno actualizado");
+    }
+
+    @Test
+    @DisplayName("no guarda lo leido en una replica anterior a la ultima escritura")
+    void doesNotCacheStaleReplicaReads() {
+        AtomicInteger loads = new AtomicInteger();
+        ReadConsistency.noteWrite();
+
+        for (int i = 0; i < 2; i++) {
+            cache.get(1L, () -> {
+                loads.incrementAndGet();
+                ReadConsistency.observed(0L);
+                return task(1L, "Uno");
+            });
+        }
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.peek(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("una lectura con token aun no visto en este nodo se salta la cache")
+    void bypassesCacheForUnseenToken() {
+        cache.get(1L, () -> task(1L, "Uno"));
+        ReadConsistency.require(System.currentTimeMillis() + 60_000);
+
+        TaskResponse read = cache.get(1L, () -> task(1L, "Uno actualizado"));
+
+        assertThat(read.title()).isEqualTo("Uno actualizado");
+    }
+}
@@ -0,0 +1,141 @@
+package com.cayetanobp.taskmanager.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", node("replica-0"));
+        replicas.put("replica-1", node("replica-1"));
+        routing = new ReplicaRoutingDataSource(node("primary"), replicas, Duration.ofHours(1), Duration.ZERO);
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+        readOnly = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ReadConsistency.clear();
+        routing.close();
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.update("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String currentNode() {
+        return jdbc.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> currentNode());
+    }
+
+    @Test
+    @DisplayName("fuera de una transaccion de solo lectura usa el primario")
+    void writesGoToPrimary() {
+        assertThat(currentNode()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("reparte las transacciones de solo lectura entre las replicas")
+    void readOnlyTransactionsRotateAcrossReplicas() {
+        assertThat(readOnlyNode()).isEqualTo("replica-0");
+        assertThat(readOnlyNode()).isEqualTo("replica-1");
+        assertThat(readOnlyNode()).isEqualTo("replica-0");
+    }
+
+    @Test
+    @DisplayName("vuelve al primario si ninguna replica alcanza el token de lectura")
+    void fallsBackToPrimaryWhenReplicasAreBehindToken() {
+        routing.probe();
+        ReadConsistency.require(System.currentTimeMillis());
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("usa la replica cuando ya esta al dia con el token")
+    void usesReplicaCaughtUpWithToken() {
+        routing.probe();
+        ReadConsistency.require(System.currentTimeMillis() - Duration.ofHours(2).toMillis());
+
+        assertThat(readOnlyNode()).startsWith("replica-");
+    }
+
+    @Test
+    @DisplayName("con escrituras continuas la replica avanza hasta la ultima muestra que ya reprodujo")
+    void walHistoryAdvancesToNewestReplayedSample() {
+        ReplicaRoutingDataSource.WalHistory history = new ReplicaRoutingDataSource.WalHistory(3);
+        history.record(1_000, 100);
+        history.record(2_000, 200);
+        history.record(3_000, 300);
+
+        assertThat(history.caughtUpTo(250)).isEqualTo(2_000);
+        assertThat(history.caughtUpTo(300)).isEqualTo(3_000);
+        assertThat(history.caughtUpTo(99)).isEqualTo(Long.MIN_VALUE);
+
+        history.record(4_000, 400);
+        assertThat(history.caughtUpTo(150)).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    @DisplayName("compara los LSN de PostgreSQL por valor")
+    void parsesLsn() {
+        assertThat(ReplicaRoutingDataSource.parseLsn("0/16B3748")).isEqualTo(0x16B3748L);
+        assertThat(ReplicaRoutingDataSource.parseLsn("16/B374D848"))
+                .isGreaterThan(ReplicaRoutingDataSource.parseLsn("15/FFFFFFFF"));
+    }
+
+    @Test
+    @DisplayName("lo leido en una replica atrasada respecto a la ultima escritura no se puede cachear")
+    void replicaReadBehindLastWriteIsNotCacheable() {
+        routing.probe();
+        ReadConsistency.noteWrite();
+
+        ReadConsistency.Read<String> read = ReadConsistency.track(this::readOnlyNode);
+
+        assertThat(read.value()).startsWith("replica-");
+        assertThat(read.cacheable()).isFalse();
+    }
+
+    @Test
+    @DisplayName("lo leido en el primario siempre se puede cachear")
+    void primaryReadIsCacheable() {
+        ReadConsistency.noteWrite();
+
+        ReadConsistency.Read<String> read = ReadConsistency.track(this::currentNode);
+
+        assertThat(read.value()).isEqualTo("primary");
+        assertThat(read.cacheable()).isTrue();
+    }
+}
@@ -4,6 +4,7 @@ import com.cayetanobp.taskmanager.model.Priority;
 import com.cayetanobp.taskmanager.model.Task;
 import com.cayetanobp.taskmanager.model.TaskStatus;
 import com.cayetanobp.taskmanager.repository.TaskRepository;
+import com.cayetanobp.taskmanager.stats.TaskStatistics;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +14,27 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,18 +52,31 @@ class TaskControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private TaskStatistics statistics;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         repository.deleteAll();
     }
 
     private Task createSampleTask(String title, TaskStatus status, Priority priority) {
+        return repository.save(sampleTask(title, status, priority));
+    }
+
+    private static Task sampleTask(String title, TaskStatus status, Priority priority) {
         Task task = new Task();
         task.setTitle(title);
         task.setDescription("Descripcion de " + title);
         task.setStatus(status);
         task.setPriority(priority);
-        return repository.save(task);
+        return task;
     }
 
     @Nested
@@ -116,6 +147,44 @@ class TaskControllerIntegrationTest {
                     .andExpect(jsonPath("$", hasSize(2)));
         }
 
+        @Test
+        @DisplayName("envia la pagina comprimida si el cliente acepta gzip")
+        void servesGzippedPage() throws Exception {
+            for (int i = 0; i < 20; i++) {
+                createSampleTask("Tarea " + i, TaskStatus.PENDING, Priority.LOW);
+            }
+
+            MvcResult result = mockMvc.perform(get("/api/tasks").header("Accept-Encoding", "gzip"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().string("Vary", containsString("Accept-Encoding")))
+                    .andReturn();
+
+            try (GZIPInputStream in = new GZIPInputStream(
+                    new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+                List<?> tasks = objectMapper.readValue(in.readAllBytes(), List.class);
+                assertThat(tasks).hasSize(20);
+            }
+        }
+
+        @Test
+        @DisplayName("la pagina comprimida lleva un ETag distinto y tambien revalida")
+        void gzippedPageHasOwnETag() throws Exception {
+            for (int i = 0; i < 20; i++) {
+                createSampleTask("Tarea " + i, TaskStatus.PENDING, Priority.LOW);
+            }
+
+            String identity = mockMvc.perform(get("/api/tasks"))
+                    .andReturn().getResponse().getHeader("ETag");
+            String gzip = mockMvc.perform(get("/api/tasks").header("Accept-Encoding", "gzip"))
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            assertThat(gzip).isNotEqualTo(identity);
+            mockMvc.perform(get("/api/tasks").header("Accept-Encoding", "gzip").header("If-None-Match", gzip))
+                    .andExpect(status().isNotModified());
+        }
+
         @Test
         @DisplayName("filtra por estado")
         void filtersByStatus() throws Exception {
@@ -127,6 +196,110 @@ class TaskControllerIntegrationTest {
                     .andExpect(jsonPath("$", hasSize(1)))
                     .andExpect(jsonPath("$[0].title").value("Pendiente"));
         }
+
+        @Test
+        @DisplayName("devuelve 304 si la lista no ha cambiado y 200 tras un cambio")
+        void returns304UntilListChanges() throws Exception {
+            createSampleTask("Tarea 1", TaskStatus.PENDING, Priority.LOW);
+
+            String etag = mockMvc.perform(get("/api/tasks"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                    .andExpect(status().isNotModified());
+
+            createSampleTask("Tarea 2", TaskStatus.PENDING, Priority.LOW);
+
+            mockMvc.perform(get("/api/tasks").header("If-None-Match", etag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)));
+        }
+
+        @Test
+        @DisplayName("no envia Last-Modified en la lista: un borrado no cambia max(updated_at)")
+        void omitsLastModifiedOnList() throws Exception {
+            createSampleTask("Tarea 1", TaskStatus.PENDING, Priority.LOW);
+            Task deleted = createSampleTask("Tarea 2", TaskStatus.PENDING, Priority.LOW);
+
+            mockMvc.perform(get("/api/tasks"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Last-Modified"));
+
+            mockMvc.perform(delete("/api/tasks/{id}", deleted.getId()))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/tasks").header("If-Modified-Since", "Fri, 01 Jan 2100 00:00:00 GMT"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("pagina con cursor")
+        void paginatesWithCursor() throws Exception {
+            createSampleTask("Tarea 1", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Tarea 2", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Tarea 3", TaskStatus.PENDING, Priority.LOW);
+
+            MvcResult first = mockMvc.perform(get("/api/tasks").param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(header().exists("X-Next-Cursor"))
+                    .andReturn();
+
+            mockMvc.perform(get("/api/tasks")
+                            .param("limit", "2")
+                            .param("cursor", first.getResponse().getHeader("X-Next-Cursor")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title").value("Tarea 3"))
+                    .andExpect(header().doesNotExist("X-Next-Cursor"));
+        }
+
+        @Test
+        @DisplayName("devuelve solo los campos pedidos")
+        void returnsOnlySelectedFields() throws Exception {
+            createSampleTask("Tarea 1", TaskStatus.PENDING, Priority.LOW);
+
+            mockMvc.perform(get("/api/tasks").param("fields", "id,title,status"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].title").value("Tarea 1"))
+                    .andExpect(jsonPath("$[0].status").value("PENDING"))
+                    .andExpect(jsonPath("$[0].description").doesNotExist())
+                    .andExpect(jsonPath("$[0].priority").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("rechaza campos desconocidos - 400")
+        void rejectsUnknownFields() throws Exception {
+            mockMvc.perform(get("/api/tasks").param("fields", "id,owner"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("rechaza cursor invalido - 400")
+        void rejectsInvalidCursor() throws Exception {
+            mockMvc.perform(get("/api/tasks").param("cursor", "no-es-un-cursor"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("transmite NDJSON en modo stream")
+        void streamsNdjson() throws Exception {
+            createSampleTask("Tarea 1", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Tarea 2", TaskStatus.DONE, Priority.HIGH);
+
+            MvcResult result = mockMvc.perform(get("/api/tasks").param("stream", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson"))
+                    .andExpect(content().string(containsString("\"title\":\"Tarea 1\"")))
+                    .andExpect(content().string(containsString("\"title\":\"Tarea 2\"")));
+        }
     }
 
     @Nested
@@ -143,6 +316,38 @@ class TaskControllerIntegrationTest {
                     .andExpect(jsonPath("$.title").value("Existente"));
         }
 
+        @Test
+        @DisplayName("devuelve 304 si la tarea no ha cambiado")
+        void returns304WhenNotModified() throws Exception {
+            Task task = createSampleTask("Existente", TaskStatus.PENDING, Priority.MEDIUM);
+
+            String etag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("Last-Modified"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/tasks/{id}", task.getId()).header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("sirve la version nueva tras actualizar la tarea")
+        void servesUpdatedTaskAfterWrite() throws Exception {
+            Task task = createSampleTask("Original", TaskStatus.PENDING, Priority.MEDIUM);
+            mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                    .andExpect(jsonPath("$.title").value("Original"));
+
+            mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("title", "Cambiada"))))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.title").value("Cambiada"));
+        }
+
         @Test
         @DisplayName("devuelve 404 si no existe")
         void returns404() throws Exception {
@@ -152,6 +357,429 @@ class TaskControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/tasks/stream")
+    class Events {
+
+        private static final Pattern EVENT_ID = Pattern.compile("id:(\\d+)");
+
+        private void createViaApi(String title, Priority priority) throws Exception {
+            mockMvc.perform(post("/api/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("title", title, "priority", priority))))
+                    .andExpect(status().isCreated());
+        }
+
+        private String awaitContent(MvcResult result, String expected) throws Exception {
+            long deadline = System.currentTimeMillis() + 5000;
+            String content = result.getResponse().getContentAsString();
+            while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+                content = result.getResponse().getContentAsString();
+            }
+            return content;
+        }
+
+        @Test
+        @DisplayName("emite los cambios a los suscriptores")
+        void pushesChanges() throws Exception {
+            MvcResult result = mockMvc.perform(get("/api/tasks/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            createViaApi("Tarea en vivo", Priority.LOW);
+
+            assertThat(awaitContent(result, "Tarea en vivo"))
+                    .contains("event:created")
+                    .contains("\"title\":\"Tarea en vivo\"");
+        }
+
+        @Test
+        @DisplayName("aplica los filtros de status y priority")
+        void appliesFilters() throws Exception {
+            MvcResult result = mockMvc.perform(get("/api/tasks/stream").param("priority", "HIGH"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            createViaApi("Baja", Priority.LOW);
+            createViaApi("Alta", Priority.HIGH);
+
+            assertThat(awaitContent(result, "Alta"))
+                    .contains("\"title\":\"Alta\"")
+                    .doesNotContain("\"title\":\"Baja\"");
+        }
+
+        @Test
+        @DisplayName("envia la modificacion que saca una tarea del filtro")
+        void pushesUpdatesLeavingFilter() throws Exception {
+            Task task = createSampleTask("Se va", TaskStatus.PENDING, Priority.HIGH);
+            MvcResult result = mockMvc.perform(get("/api/tasks/stream").param("priority", "HIGH"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("priority", "LOW"))))
+                    .andExpect(status().isOk());
+
+            assertThat(awaitContent(result, "Se va"))
+                    .contains("event:updated")
+                    .contains("\"priority\":\"LOW\"");
+        }
+
+        @Test
+        @DisplayName("reanuda desde Last-Event-ID")
+        void resumesFromLastEventId() throws Exception {
+            MvcResult first = mockMvc.perform(get("/api/tasks/stream"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            createViaApi("Vista", Priority.LOW);
+            Matcher id = EVENT_ID.matcher(awaitContent(first, "Vista"));
+            assertThat(id.find()).isTrue();
+
+            createViaApi("Perdida", Priority.LOW);
+
+            MvcResult resumed = mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", id.group(1)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            assertThat(awaitContent(resumed, "Perdida"))
+                    .contains("\"title\":\"Perdida\"")
+                    .doesNotContain("\"title\":\"Vista\"");
+        }
+
+        @Test
+        @DisplayName("pide recargar si Last-Event-ID ya no esta en el buffer")
+        void sendsResetForUnknownLastEventId() throws Exception {
+            MvcResult result = mockMvc.perform(get("/api/tasks/stream").header("Last-Event-ID", "999999999"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            assertThat(awaitContent(result, "event:reset")).contains("event:reset");
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/stats")
+    class Stats {
+
+        @Test
+        @DisplayName("cuenta por estado y prioridad, incluidas las celdas vacias")
+        void countsPerCell() throws Exception {
+            createSampleTask("Uno", TaskStatus.PENDING, Priority.HIGH);
+            createSampleTask("Dos", TaskStatus.PENDING, Priority.HIGH);
+            createSampleTask("Tres", TaskStatus.DONE, Priority.LOW);
+            statistics.reconcile();
+
+            mockMvc.perform(get("/api/tasks/stats"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(3))
+                    .andExpect(jsonPath("$.counts", hasSize(TaskStatus.values().length * Priority.values().length)))
+                    .andExpect(jsonPath("$.counts[?(@.status=='PENDING' && @.priority=='HIGH')].count").value(contains(2)))
+                    .andExpect(jsonPath("$.counts[?(@.status=='DONE' && @.priority=='LOW')].count").value(contains(1)));
+        }
+
+        @Test
+        @DisplayName("actualiza los contadores con las escrituras de la API")
+        void updatesIncrementally() throws Exception {
+            statistics.reconcile();
+
+            mockMvc.perform(post("/api/tasks")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("title", "Nueva", "priority", "LOW"))))
+                    .andExpect(status().isCreated());
+
+            mockMvc.perform(get("/api/tasks/stats").param("byDay", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.total").value(1))
+                    .andExpect(jsonPath("$.counts", hasSize(1)))
+                    .andExpect(jsonPath("$.counts[0].status").value("PENDING"))
+                    .andExpect(jsonPath("$.counts[0].day").isNotEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/count")
+    class Count {
+
+        @Test
+        @DisplayName("cuenta las tareas que cumplen los filtros")
+        void countsMatchingTasks() throws Exception {
+            createSampleTask("Uno", TaskStatus.PENDING, Priority.HIGH);
+            createSampleTask("Dos", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Tres", TaskStatus.DONE, Priority.HIGH);
+            statistics.reconcile();
+
+            mockMvc.perform(get("/api/tasks/count"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.count").value(3));
+            mockMvc.perform(get("/api/tasks/count").param("status", "PENDING"))
+                    .andExpect(jsonPath("$.count").value(2));
+            mockMvc.perform(get("/api/tasks/count").param("priority", "HIGH"))
+                    .andExpect(jsonPath("$.count").value(2));
+            mockMvc.perform(get("/api/tasks/count").param("status", "DONE").param("priority", "LOW"))
+                    .andExpect(jsonPath("$.count").value(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/tasks/import")
+    class Import {
+
+        @Test
+        @DisplayName("importa CSV y devuelve los errores por fila")
+        void importsCsvWithRowErrors() throws Exception {
+            String csv = """
+                    priority,title,description
+                    HIGH,Primera,"Con, coma"
+                    ,Segunda,
+                    URGENTE,Tercera,
+                    LOW,,Sin titulo
+                    """;
+
+            mockMvc.perform(post("/api/tasks/import").contentType("text/csv").content(csv))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.rejected").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(4))
+                    .andExpect(jsonPath("$.errors[0].message").value(containsString("URGENTE")))
+                    .andExpect(jsonPath("$.errors[1].line").value(5))
+                    .andExpect(jsonPath("$.errors[1].message").value(containsString("titulo")));
+
+            mockMvc.perform(get("/api/tasks"))
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].title").value("Primera"))
+                    .andExpect(jsonPath("$[0].description").value("Con, coma"))
+                    .andExpect(jsonPath("$[0].status").value("PENDING"))
+                    .andExpect(jsonPath("$[1].priority").value("MEDIUM"));
+        }
+
+        @Test
+        @DisplayName("importa NDJSON")
+        void importsNdjson() throws Exception {
+            String ndjson = """
+                    {"title":"Uno","priority":"LOW"}
+                    {"title":"Dos","priority":"NADA"}
+                    no es json
+                    {"title":"Tres"}
+                    """;
+
+            mockMvc.perform(post("/api/tasks/import").contentType("application/x-ndjson").content(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.rejected").value(2))
+                    .andExpect(jsonPath("$.errors[0].line").value(2))
+                    .andExpect(jsonPath("$.errors[1].line").value(3));
+
+            assertThat(repository.count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("rechaza filas NDJSON que no son objetos sin deshacer el resto")
+        void rejectsNdjsonRowsThatAreNotObjects() throws Exception {
+            String ndjson = """
+                    {"title":"Uno"}
+                    null
+                    [{"title":"Dos"}]
+                    "Tres"
+                    {"title":"Cuatro"}
+                    """;
+
+            mockMvc.perform(post("/api/tasks/import").contentType("application/x-ndjson").content(ndjson))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.imported").value(2))
+                    .andExpect(jsonPath("$.rejected").value(3))
+                    .andExpect(jsonPath("$.errors[0].line").value(2))
+                    .andExpect(jsonPath("$.errors[0].message").value("Se esperaba un objeto JSON"));
+
+            assertThat(repository.count()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("rechaza entera una importacion con una linea demasiado larga - 400")
+        void rejectsOversizeLines() throws Exception {
+            String ndjson = "{\"title\":\"Uno\"}\n{\"title\":\"" + "x".repeat(70_000) + "\"}\n";
+
+            mockMvc.perform(post("/api/tasks/import").contentType("application/x-ndjson").content(ndjson))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(containsString("La linea 2 supera")));
+            mockMvc.perform(post("/api/tasks/import").contentType("text/csv").content("title\n\"" + "x".repeat(70_000)))
+                    .andExpect(status().isBadRequest());
+
+            assertThat(repository.count()).isZero();
+        }
+
+        @Test
+        @DisplayName("rechaza un CSV sin columna title - 400")
+        void rejectsCsvWithoutTitleColumn() throws Exception {
+            mockMvc.perform(post("/api/tasks/import").contentType("text/csv").content("description\nalgo\n"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/export")
+    class Export {
+
+        private MvcResult export(RequestBuilder builder) throws Exception {
+            MvcResult result = mockMvc.perform(builder)
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            return mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andReturn();
+        }
+
+        @Test
+        @DisplayName("exporta NDJSON con filtros")
+        void exportsFilteredNdjson() throws Exception {
+            createSampleTask("Pendiente", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Hecha", TaskStatus.DONE, Priority.LOW);
+
+            MvcResult result = export(get("/api/tasks/export").param("status", "DONE"));
+
+            assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+            assertThat(result.getResponse().getContentAsString().lines())
+                    .singleElement()
+                    .satisfies(line -> assertThat(line).contains("\"title\":\"Hecha\""));
+        }
+
+        @Test
+        @DisplayName("exporta CSV con cabecera, campos entrecomillados y fechas con microsegundos como COPY")
+        void exportsCsv() throws Exception {
+            Long id = createSampleTask("Con \"comillas\", y coma", TaskStatus.PENDING, Priority.HIGH).getId();
+            jdbcTemplate.update("UPDATE tasks SET created_at = ?, updated_at = ? WHERE id = ?",
+                    Timestamp.valueOf(LocalDateTime.of(2026, 1, 2, 10, 0)),
+                    Timestamp.valueOf(LocalDateTime.of(2026, 1, 2, 10, 30, 5, 120_000_000)), id);
+
+            MvcResult result = export(get("/api/tasks/export").param("format", "csv"));
+
+            assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+            assertThat(result.getResponse().getContentAsString().lines()).containsExactly(
+                    "id,title,description,status,priority,created_at,updated_at,version",
+                    id + ",\"Con \"\"comillas\"\", y coma\",\"Descripcion de Con \"\"comillas\"\", y coma\","
+                            + "PENDING,HIGH,2026-01-02T10:00:00.000000,2026-01-02T10:30:05.120000,0");
+        }
+
+        @Test
+        @DisplayName("filtra por rango de fechas de creacion")
+        void filtersByDateRange() throws Exception {
+            createSampleTask("Hoy", TaskStatus.PENDING, Priority.LOW);
+
+            MvcResult result = export(get("/api/tasks/export").param("to", "2000-01-01T00:00:00"));
+
+            assertThat(result.getResponse().getContentAsString()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("comprime con gzip si el cliente lo acepta")
+        void compressesWithGzip() throws Exception {
+            createSampleTask("Comprimida", TaskStatus.PENDING, Priority.LOW);
+
+            MvcResult result = export(get("/api/tasks/export").header("Accept-Encoding", "gzip"));
+
+            assertThat(result.getResponse().getHeader("Content-Encoding")).isEqualTo("gzip");
+            try (GZIPInputStream in = new GZIPInputStream(
+                    new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+                assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("Comprimida");
+            }
+        }
+
+        @Test
+        @DisplayName("rechaza un rango de fechas vacio - 400")
+        void rejectsEmptyRange() throws Exception {
+            mockMvc.perform(get("/api/tasks/export")
+                            .param("from", "2026-01-02T00:00:00")
+                            .param("to", "2026-01-01T00:00:00"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/search")
+    class Search {
+
+        @Test
+        @DisplayName("encuentra por titulo y descripcion, titulo primero")
+        void ranksTitleMatchesFirst() throws Exception {
+            Task inDescription = createSampleTask("Llamar al proveedor", TaskStatus.PENDING, Priority.LOW);
+            inDescription.setDescription("Revisar la factura pendiente");
+            repository.save(inDescription);
+            createSampleTask("Factura de marzo", TaskStatus.PENDING, Priority.HIGH);
+            createSampleTask("Comprar cafe", TaskStatus.DONE, Priority.LOW);
+
+            mockMvc.perform(get("/api/tasks/search").param("q", "factura"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].title").value("Factura de marzo"))
+                    .andExpect(jsonPath("$[1].title").value("Llamar al proveedor"));
+        }
+
+        @Test
+        @DisplayName("exige que aparezcan todos los terminos")
+        void requiresAllTerms() throws Exception {
+            createSampleTask("Factura de marzo", TaskStatus.PENDING, Priority.HIGH);
+            createSampleTask("Factura de abril", TaskStatus.PENDING, Priority.HIGH);
+
+            mockMvc.perform(get("/api/tasks/search").param("q", "factura abril"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title").value("Factura de abril"));
+        }
+
+        @Test
+        @DisplayName("pagina los resultados")
+        void paginatesResults() throws Exception {
+            createSampleTask("Informe 1", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Informe 2", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Informe 3", TaskStatus.PENDING, Priority.LOW);
+
+            mockMvc.perform(get("/api/tasks/search").param("q", "informe").param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(header().string("X-Next-Page", "1"));
+
+            mockMvc.perform(get("/api/tasks/search")
+                            .param("q", "informe").param("limit", "2").param("page", "1"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title").value("Informe 3"))
+                    .andExpect(header().doesNotExist("X-Next-Page"));
+        }
+
+        @Test
+        @DisplayName("trata los comodines como texto literal")
+        void escapesWildcards() throws Exception {
+            createSampleTask("Descuento del 50%", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Descuento del 50 por ciento", TaskStatus.PENDING, Priority.LOW);
+
+            mockMvc.perform(get("/api/tasks/search").param("q", "50%"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(1)));
+        }
+
+        @Test
+        @DisplayName("rechaza texto vacio - 400")
+        void rejectsBlankQuery() throws Exception {
+            mockMvc.perform(get("/api/tasks/search").param("q", "  "))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("devuelve una pagina vacia si page * limit no cabe en un int")
+        void handlesPageOffsetBeyondInt() throws Exception {
+            createSampleTask("Informe", TaskStatus.PENDING, Priority.LOW);
+
+            mockMvc.perform(get("/api/tasks/search")
+                            .param("q", "informe")
+                            .param("page", String.valueOf(Integer.MAX_VALUE))
+                            .param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$", hasSize(0)))
+                    .andExpect(header().doesNotExist("X-Next-Page"));
+        }
+    }
+
     @Nested
     @DisplayName("PUT /api/tasks/{id}")
     class UpdateTask {
@@ -170,6 +798,287 @@ class TaskControllerIntegrationTest {
                     .andExpect(jsonPath("$.title").value("Actualizada"))
                     .andExpect(jsonPath("$.status").value("IN_PROGRESS"));
         }
+
+        @Test
+        @DisplayName("aplica If-Match con la version actual")
+        void appliesIfMatchWithCurrentVersion() throws Exception {
+            Task task = createSampleTask("Original", TaskStatus.PENDING, Priority.LOW);
+            String etag = mockMvc.perform(get("/api/tasks/{id}", task.getId()))
+                    .andReturn().getResponse().getHeader("ETag");
+            String body = objectMapper.writeValueAsString(Map.of("status", "DONE"));
+
+            mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                            .header("If-Match", etag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("DONE"))
+                    .andExpect(jsonPath("$.title").value("Original"))
+                    .andExpect(header().string("ETag", not(etag)));
+        }
+
+        @Test
+        @DisplayName("el ETag de un PUT sin If-Match sirve para el siguiente PUT condicional")
+        void returnsCurrentETagAfterUnconditionalUpdate() throws Exception {
+            Task task = createSampleTask("Original", TaskStatus.PENDING, Priority.LOW);
+
+            String etag = mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("status", "IN_PROGRESS"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.version").value(task.getVersion() + 1))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                            .header("If-Match", etag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("status", "DONE"))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("DONE"));
+        }
+
+        @Test
+        @DisplayName("acepta en If-Match el ETag de la respuesta comprimida")
+        void acceptsGzipETagInIfMatch() throws Exception {
+            Task task = createSampleTask("Original", TaskStatus.PENDING, Priority.LOW);
+            String etag = "\"" + TaskETags.gzip(task.getId() + "-" + task.getVersion()) + "\"";
+
+            mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                            .header("If-Match", etag)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("status", "DONE"))))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("devuelve 412 si If-Match no coincide")
+        void returns412WhenIfMatchIsStale() throws Exception {
+            Task task = createSampleTask("Original", TaskStatus.PENDING, Priority.LOW);
+            String body = objectMapper.writeValueAsString(Map.of("status", "DONE"));
+
+            mockMvc.perform(put("/api/tasks/{id}", task.getId())
+                            .header("If-Match", "\"" + task.getId() + "-41\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isPreconditionFailed());
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/tasks/batch")
+    class Batch {
+
+        @Test
+        @DisplayName("crea un lote de tareas - 201")
+        void createsBatch() throws Exception {
+            String body = objectMapper.writeValueAsString(Map.of("tasks", List.of(
+                    Map.of("title", "Importada 1"),
+                    Map.of("title", "Importada 2", "priority", "HIGH"))));
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$", hasSize(2)))
+                    .andExpect(jsonPath("$[0].id").isNumber())
+                    .andExpect(jsonPath("$[1].priority").value("HIGH"));
+        }
+
+        @Test
+        @DisplayName("rechaza lote con tareas invalidas - 400")
+        void rejectsInvalidBatch() throws Exception {
+            String body = objectMapper.writeValueAsString(Map.of("tasks", List.of(Map.of("title", ""))));
+
+            mockMvc.perform(post("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.messages").isArray());
+        }
+
+        @Test
+        @DisplayName("actualiza un lote de tareas")
+        void updatesBatch() throws Exception {
+            Task first = createSampleTask("Primera", TaskStatus.PENDING, Priority.LOW);
+            Task second = createSampleTask("Segunda", TaskStatus.PENDING, Priority.LOW);
+            String body = objectMapper.writeValueAsString(Map.of("tasks", List.of(
+                    Map.of("id", first.getId(), "status", "DONE"),
+                    Map.of("id", second.getId(), "priority", "HIGH"))));
+
+            mockMvc.perform(patch("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].status").value("DONE"))
+                    .andExpect(jsonPath("$[1].priority").value("HIGH"));
+        }
+
+        @Test
+        @DisplayName("elimina un lote de tareas - 204")
+        void deletesBatch() throws Exception {
+            Task first = createSampleTask("Primera", TaskStatus.PENDING, Priority.LOW);
+            Task second = createSampleTask("Segunda", TaskStatus.PENDING, Priority.LOW);
+            String body = objectMapper.writeValueAsString(Map.of("ids", List.of(first.getId(), second.getId())));
+
+            mockMvc.perform(delete("/api/tasks/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/tasks"))
+                    .andExpect(jsonPath("$", hasSize(0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/tasks/changes")
+    class Changes {
+
+        private String changes(String since, int limit) throws Exception {
+            var request = get("/api/tasks/changes").param("limit", String.valueOf(limit));
+            if (since != null) {
+                request.param("since", since);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            return objectMapper.readTree(body).get("token").asText();
+        }
+
+        @Test
+        @DisplayName("sin token devuelve todas las tareas y un token nuevo")
+        void returnsEverythingWithoutToken() throws Exception {
+            createSampleTask("Primera", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Segunda", TaskStatus.DONE, Priority.HIGH);
+
+            mockMvc.perform(get("/api/tasks/changes"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed", hasSize(2)))
+                    .andExpect(jsonPath("$.changed[0].title").value("Primera"))
+                    .andExpect(jsonPath("$.deleted", hasSize(0)))
+                    .andExpect(jsonPath("$.token").isString())
+                    .andExpect(jsonPath("$.hasMore").value(false));
+        }
+
+        @Test
+        @DisplayName("con token devuelve solo lo modificado y los borrados")
+        void returnsOnlyChangesSinceToken() throws Exception {
+            Task untouched = createSampleTask("Sin cambios", TaskStatus.PENDING, Priority.LOW);
+            Task updated = createSampleTask("A modificar", TaskStatus.PENDING, Priority.LOW);
+            Task deleted = createSampleTask("A borrar", TaskStatus.PENDING, Priority.LOW);
+            String token = changes(null, 100);
+
+            mockMvc.perform(put("/api/tasks/{id}", updated.getId())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("status", "DONE"))))
+                    .andExpect(status().isOk());
+            mockMvc.perform(delete("/api/tasks/{id}", deleted.getId()))
+                    .andExpect(status().isNoContent());
+
+            mockMvc.perform(get("/api/tasks/changes").param("since", token))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changed", hasSize(1)))
+                    .andExpect(jsonPath("$.changed[0].id").value(updated.getId()))
+                    .andExpect(jsonPath("$.changed[0].status").value("DONE"))
+                    .andExpect(jsonPath("$.deleted", contains(deleted.getId().intValue())))
+                    .andExpect(jsonPath("$.changed[*].id", not(hasItem(untouched.getId().intValue()))));
+        }
+
+        @Test
+        @DisplayName("pagina los cambios grandes con hasMore")
+        void pagesLargeDeltas() throws Exception {
+            createSampleTask("Primera", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Segunda", TaskStatus.PENDING, Priority.LOW);
+            createSampleTask("Tercera", TaskStatus.PENDING, Priority.LOW);
+
+            MvcResult first = mockMvc.perform(get("/api/tasks/changes").param("limit", "2"))
+                    .andExpect(jsonPath("$.changed", hasSize(2)))
+                    .andExpect(jsonPath("$.hasMore").value(true))
+                    .andReturn();
+            String token = objectMapper.readTree(first.getResponse().getContentAsString()).get("token").asText();
+
+            mockMvc.perform(get("/api/tasks/changes").param("since", token).param("limit", "2"))
+                    .andExpect(jsonPath("$.changed", hasSize(1)))
+                    .andExpect(jsonPath("$.changed[0].title").value("Tercera"))
+                    .andExpect(jsonPath("$.hasMore").value(false));
+        }
+
+        @Test
+        @DisplayName("informa de los borrados masivos por filtro")
+        void reportsBulkDeletes() throws Exception {
+            Task done = createSampleTask("Hecha", TaskStatus.DONE, Priority.LOW);
+            createSampleTask("Pendiente", TaskStatus.PENDING, Priority.LOW);
+            String token = changes(null, 100);
+
+            mockMvc.perform(delete("/api/tasks").param("status", "DONE"))
+                    .andExpect(status().isOk());
+
+            mockMvc.perform(get("/api/tasks/changes").param("since", token))
+                    .andExpect(jsonPath("$.changed", hasSize(0)))
+                    .andExpect(jsonPath("$.deleted", contains(done.getId().intValue())));
+        }
+
+        @Test
+        @DisplayName("rechaza un token invalido - 400")
+        void rejectsInvalidToken() throws Exception {
+            mockMvc.perform(get("/api/tasks/changes").param("since", "no-es-un-token"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("entrega una transaccion que confirma despues de emitir el token")
+        void deliversTransactionCommittedAfterToken() throws Exception {
+            String before = changes(null, 100);
+            CountDownLatch written = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Task> slow = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(tx -> {
+                Task task = repository.saveAndFlush(sampleTask("Lenta", TaskStatus.PENDING, Priority.LOW));
+                written.countDown();
+                await(release);
+                return task;
+            }));
+            await(written);
+
+            String during = changes(before, 100);
+            release.countDown();
+            Task task = slow.get(10, TimeUnit.SECONDS);
+
+            mockMvc.perform(get("/api/tasks/changes").param("since", during))
+                    .andExpect(jsonPath("$.changed[*].id", contains(task.getId().intValue())));
+        }
+
+        @Test
+        @DisplayName("caduca el token si se purgaron borrados que no ha recibido - 410")
+        void expiresTokenBehindPrunedDeletes() throws Exception {
+            Task task = createSampleTask("A borrar", TaskStatus.PENDING, Priority.LOW);
+            String token = changes(null, 100);
+            mockMvc.perform(delete("/api/tasks/{id}", task.getId()))
+                    .andExpect(status().isNoContent());
+
+            jdbcTemplate.update("UPDATE task_sync_clock SET pruned_seq = (SELECT MAX(change_seq) FROM task_tombstones)");
+
+            mockMvc.perform(get("/api/tasks/changes").param("since", token))
+                    .andExpect(status().isGone());
+        }
+
+        @Test
+        @DisplayName("caduca los tokens antiguos basados en fechas - 410")
+        void expiresLegacyDateToken() throws Exception {
+            String legacy = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    "2026-01-01T00:00|1|2026-01-01T00:00|1".getBytes(StandardCharsets.UTF_8));
+
+            mockMvc.perform(get("/api/tasks/changes").param("since", legacy))
+                    .andExpect(status().isGone());
+        }
+
+        private void await(CountDownLatch latch) {
+            try {
+                assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
     }
 
     @Nested
@@ -194,5 +1103,28 @@ class TaskControllerIntegrationTest {
             mockMvc.perform(delete("/api/tasks/{id}", 9999))
                     .andExpect(status().isNotFound());
         }
+
+        @Test
+        @DisplayName("elimina todas las tareas que cumplen el filtro")
+        void deletesMatchingTasks() throws Exception {
+            createSampleTask("Hecha 1", TaskStatus.DONE, Priority.LOW);
+            createSampleTask("Hecha 2", TaskStatus.DONE, Priority.HIGH);
+            createSampleTask("Pendiente", TaskStatus.PENDING, Priority.LOW);
+
+            mockMvc.perform(delete("/api/tasks").param("status", "DONE"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.deleted").value(2));
+
+            mockMvc.perform(get("/api/tasks"))
+                    .andExpect(jsonPath("$", hasSize(1)))
+                    .andExpect(jsonPath("$[0].title").value("Pendiente"));
+        }
+
+        @Test
+        @DisplayName("rechaza el borrado masivo sin filtros - 400")
+        void rejectsBulkDeleteWithoutFilters() throws Exception {
+            mockMvc.perform(delete("/api/tasks"))
+                    .andExpect(status().isBadRequest());
+        }
     }
 }
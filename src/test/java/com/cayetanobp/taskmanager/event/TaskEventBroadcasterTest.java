@@ -0,0 +1,33 @@
+package com.cayetanobp.taskmanager.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class TaskEventBroadcasterTest {
+
+    @Test
+    @DisplayName("desconecta al cliente si el pool de envíos no admite más trabajo")
+    void dropsSubscriberWhenSendersAreSaturated() {
+        ExecutorService senders = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException()).when(senders).execute(any());
+        MeterRegistry registry = new SimpleMeterRegistry();
+        TaskEventBroadcaster broadcaster = new TaskEventBroadcaster(10, 10, Duration.ofMinutes(1), senders, registry);
+
+        broadcaster.subscribe(null, null, null);
+        broadcaster.onTaskChanged(TaskChangedEvent.imported());
+
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(registry.counter("task.events.dropped").count()).isEqualTo(1);
+    }
+}
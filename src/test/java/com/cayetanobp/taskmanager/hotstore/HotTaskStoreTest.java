@@ -0,0 +1,379 @@
+package com.cayetanobp.taskmanager.hotstore;
+
+import com.cayetanobp.taskmanager.dto.TaskCursor;
+import com.cayetanobp.taskmanager.dto.TaskPage;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskVersion;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotTaskStoreTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 1, 9, 30, 0, 123_456_000);
+
+    private HotTaskStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new HotTaskStore(16);
+        store.beginLoad();
+        store.finishLoad();
+    }
+
+    private static TaskResponse task(long id, TaskStatus status, Priority priority) {
+        return task(id, status, priority, 0L);
+    }
+
+    private static TaskResponse task(long id, TaskStatus status, Priority priority, long version) {
+        LocalDateTime created = BASE.plusSeconds(id);
+        return new TaskResponse(id, "Tarea " + id, id % 2 == 0 ? "Par" : null, status, priority,
+                created, created.plusMinutes(1), version);
+    }
+
+    @Nested
+    @DisplayName("findById")
+    class FindById {
+
+        @Test
+        @DisplayName("devuelve la tarea abierta con los mismos valores")
+        void returnsOpenTask() {
+            TaskResponse task = task(1, TaskStatus.PENDING, Priority.HIGH);
+            store.apply(task);
+
+            assertThat(store.findById(1L)).isEqualTo(task);
+        }
+
+        @Test
+        @DisplayName("no guarda tareas DONE y las quita al cerrarse")
+        void dropsDoneTasks() {
+            store.apply(task(1, TaskStatus.DONE, Priority.LOW));
+            store.apply(task(2, TaskStatus.PENDING, Priority.LOW));
+            store.apply(task(2, TaskStatus.DONE, Priority.LOW, 1));
+
+            assertThat(store.findById(1L)).isNull();
+            assertThat(store.findById(2L)).isNull();
+            assertThat(store.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("ignora una version anterior que llega tarde")
+        void ignoresStaleVersion() {
+            store.apply(task(1, TaskStatus.IN_PROGRESS, Priority.LOW, 2));
+            store.apply(task(1, TaskStatus.PENDING, Priority.LOW, 1));
+
+            assertThat(store.findById(1L).status()).isEqualTo(TaskStatus.IN_PROGRESS);
+        }
+
+        @Test
+        @DisplayName("no responde mientras se esta cargando")
+        void notReadyWhileLoading() {
+            store.apply(task(1, TaskStatus.PENDING, Priority.LOW));
+            store.beginLoad();
+
+            assertThat(store.findById(1L)).isNull();
+            assertThat(store.findAll(TaskStatus.PENDING, null, null, 10)).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("findAll")
+    class FindAll {
+
+        @Test
+        @DisplayName("pagina por (createdAt, id) filtrando por estado y prioridad")
+        void pagesByCursor() {
+            for (long id = 1; id <= 10; id++) {
+                store.apply(task(id, TaskStatus.PENDING, id % 2 == 0 ? Priority.HIGH : Priority.LOW));
+            }
+
+            TaskPage first = store.findAll(TaskStatus.PENDING, Priority.HIGH, null, 3);
+            assertThat(first.items()).extracting(TaskResponse::id).containsExactly(2L, 4L, 6L);
+            assertThat(first.hasNext()).isTrue();
+
+            TaskPage second = store.findAll(TaskStatus.PENDING, Priority.HIGH, TaskCursor.decode(first.next()), 3);
+            assertThat(second.items()).extracting(TaskResponse::id).containsExactly(8L, 10L);
+            assertThat(second.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("mantiene el orden aunque las tareas lleguen desordenadas")
+        void keepsOrderForOutOfOrderInserts() {
+            store.apply(task(3, TaskStatus.PENDING, Priority.LOW));
+            store.apply(task(1, TaskStatus.PENDING, Priority.LOW));
+            store.apply(task(2, TaskStatus.PENDING, Priority.LOW));
+
+            assertThat(store.findAll(TaskStatus.PENDING, null, null, 10).items())
+                    .extracting(TaskResponse::id).containsExactly(1L, 2L, 3L);
+        }
+
+        @Test
+        @DisplayName("pagina en orden mezclando filas en orden y fuera de orden, antes y despues de compactar")
+        void pagesAcrossLateInserts() {
+            // 40 filas fuera de orden se quedan en la lista aparte; 600 obligan a compactar.
+            for (int total : new int[]{40, 600}) {
+                store = new HotTaskStore(16);
+                store.beginLoad();
+                store.finishLoad();
+                List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, total).boxed().toList());
+                Collections.shuffle(ids, new Random(total));
+                for (long id : ids) {
+                    store.apply(task(id, TaskStatus.PENDING, id % 3 == 0 ? Priority.HIGH : Priority.LOW));
+                }
+
+                List<Long> paged = new ArrayList<>();
+                TaskCursor after = null;
+                do {
+                    TaskPage page = store.findAll(TaskStatus.PENDING, Priority.HIGH, after, 7);
+                    page.items().forEach(item -> paged.add(item.id()));
+                    after = page.hasNext() ? TaskCursor.decode(page.next()) : null;
+                } while (after != null);
+
+                assertThat(paged).isEqualTo(LongStream.rangeClosed(1, total).filter(id -> id % 3 == 0).boxed().toList());
+            }
+        }
+
+        @Test
+        @DisplayName("no responde consultas que incluyen tareas DONE")
+        void cannotAnswerDoneOrUnfiltered() {
+            assertThat(store.findAll(null, null, null, 10)).isNull();
+            assertThat(store.findAll(TaskStatus.DONE, null, null, 10)).isNull();
+        }
+
+        @Test
+        @DisplayName("borra por filtro sin dejar filas visibles")
+        void removesMatching() {
+            store.apply(task(1, TaskStatus.PENDING, Priority.LOW));
+            store.apply(task(2, TaskStatus.PENDING, Priority.HIGH));
+
+            store.removeMatching(null, Priority.LOW);
+
+            assertThat(store.findAll(TaskStatus.PENDING, null, null, 10).items())
+                    .extracting(TaskResponse::id).containsExactly(2L);
+        }
+    }
+
+    @Nested
+    @DisplayName("bitmaps de estado y prioridad")
+    class Bitmaps {
+
+        @Test
+        @DisplayName("cuenta la interseccion de estado y prioridad")
+        void countsIntersection() {
+            for (long id = 1; id <= 200; id++) {
+                store.apply(task(id, id % 4 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.PENDING,
+                        Priority.values()[(int) (id % 3)]));
+            }
+
+            assertThat(store.count(TaskStatus.PENDING, null)).isEqualTo(150);
+            assertThat(store.count(TaskStatus.IN_PROGRESS, null)).isEqualTo(50);
+            assertThat(store.count(TaskStatus.IN_PROGRESS, Priority.values()[0])).isEqualTo(16);
+        }
+
+        @Test
+        @DisplayName("actualiza los recuentos al cambiar o borrar una tarea")
+        void keepsCountsInSync() {
+            store.apply(task(1, TaskStatus.PENDING, Priority.LOW));
+            store.apply(task(2, TaskStatus.PENDING, Priority.LOW));
+            store.apply(task(1, TaskStatus.IN_PROGRESS, Priority.HIGH, 1));
+            store.remove(2L);
+
+            assertThat(store.count(TaskStatus.PENDING, null)).isZero();
+            assertThat(store.count(TaskStatus.IN_PROGRESS, Priority.HIGH)).isEqualTo(1);
+            assertThat(store.count(TaskStatus.IN_PROGRESS, Priority.LOW)).isZero();
+        }
+
+        @Test
+        @DisplayName("la version de la lista cambia con altas, cambios y borrados")
+        void versionChangesWithEveryWrite() {
+            store.apply(task(1, TaskStatus.PENDING, Priority.LOW));
+            store.apply(task(2, TaskStatus.PENDING, Priority.HIGH));
+            TaskVersion initial = store.version(TaskStatus.PENDING, null);
+            assertThat(initial.count()).isEqualTo(2L);
+
+            // Una fecha anterior, como la de otro nodo con el reloj atrasado, también cambia la versión.
+            store.apply(new TaskResponse(1L, "Otra", null, TaskStatus.PENDING, Priority.LOW,
+                    BASE, BASE.minusHours(1), 1L));
+            TaskVersion updated = store.version(TaskStatus.PENDING, null);
+            store.remove(2L);
+            TaskVersion removed = store.version(TaskStatus.PENDING, null);
+
+            assertThat(updated).isNotEqualTo(initial);
+            assertThat(removed).isNotEqualTo(updated);
+            assertThat(store.version(TaskStatus.PENDING, Priority.HIGH).count()).isZero();
+            assertThat(store.version(TaskStatus.DONE, null)).isNull();
+        }
+
+        @Test
+        @DisplayName("no cuenta consultas que incluyen tareas DONE ni mientras carga")
+        void cannotCountDoneOrWhileLoading() {
+            assertThat(store.count(null, null)).isEqualTo(-1);
+            assertThat(store.count(TaskStatus.DONE, Priority.LOW)).isEqualTo(-1);
+
+            store.beginLoad();
+            assertThat(store.count(TaskStatus.PENDING, null)).isEqualTo(-1);
+        }
+
+        @Test
+        @DisplayName("pagina sobre los bitmaps tras una carga desordenada")
+        void pagesAcrossWordsAfterLoad() {
+            store.beginLoad();
+            for (long id = 1; id <= 300; id++) {
+                if (id % 3 == 0) {
+                    store.load(task(id, TaskStatus.PENDING, Priority.HIGH));
+                }
+            }
+            for (long id = 1; id <= 300; id++) {
+                if (id % 3 != 0) {
+                    store.load(task(id, TaskStatus.IN_PROGRESS, Priority.HIGH));
+                }
+            }
+            store.finishLoad();
+
+            TaskPage first = store.findAll(TaskStatus.IN_PROGRESS, Priority.HIGH, null, 70);
+            assertThat(first.items()).hasSize(70);
+            assertThat(first.items().get(69).id()).isEqualTo(104L);
+
+            TaskPage second = store.findAll(TaskStatus.IN_PROGRESS, Priority.HIGH, TaskCursor.decode(first.next()), 3);
+            assertThat(second.items()).extracting(TaskResponse::id).containsExactly(106L, 107L, 109L);
+        }
+    }
+
+    @Nested
+    @DisplayName("carga y memoria")
+    class LoadingAndMemory {
+
+        @Test
+        @DisplayName("las escrituras durante la carga prevalecen sobre las filas cargadas")
+        void writesDuringLoadWin() {
+            store.beginLoad();
+            store.apply(task(1, TaskStatus.IN_PROGRESS, Priority.LOW, 1));
+            store.remove(2L);
+
+            store.load(task(1, TaskStatus.PENDING, Priority.LOW, 0));
+            store.load(task(2, TaskStatus.PENDING, Priority.LOW, 0));
+            store.load(task(3, TaskStatus.PENDING, Priority.LOW, 0));
+            store.finishLoad();
+
+            assertThat(store.findById(1L).status()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(store.findById(2L)).isNull();
+            assertThat(store.findById(3L)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("una tarea cerrada durante la carga no vuelve con la carga")
+        void closedDuringLoadStaysOut() {
+            store.beginLoad();
+            store.apply(task(4, TaskStatus.DONE, Priority.LOW, 1));
+
+            store.load(task(4, TaskStatus.PENDING, Priority.LOW, 0));
+            store.finishLoad();
+
+            assertThat(store.findById(4L)).isNull();
+            assertThat(store.count(TaskStatus.PENDING, null)).isZero();
+        }
+
+        @Test
+        @DisplayName("solo cubre los tokens anteriores al inicio del ultimo repaso completado")
+        void coversTokensUpToLastRefresh() {
+            long beforeRefresh = System.currentTimeMillis();
+            assertThat(store.covers(beforeRefresh + 60_000)).isFalse();
+
+            assertThat(store.beginRefresh()).isTrue();
+            store.finishRefresh();
+
+            assertThat(store.covers(beforeRefresh)).isTrue();
+            assertThat(store.covers(System.currentTimeMillis() + 60_000)).isFalse();
+            store.beginLoad();
+            assertThat(store.covers(beforeRefresh)).isFalse();
+        }
+
+        @Test
+        @DisplayName("el repaso recoge los cambios de otros nodos sin dejar de responder")
+        void refreshPicksUpRemoteChanges() {
+            store.apply(task(1, TaskStatus.PENDING, Priority.LOW, 0));
+            store.apply(task(2, TaskStatus.PENDING, Priority.LOW, 0));
+
+            assertThat(store.beginRefresh()).isTrue();
+            assertThat(store.findById(2L)).isNotNull();
+            store.refresh(task(1, TaskStatus.IN_PROGRESS, Priority.HIGH, 1));
+            store.refresh(task(3, TaskStatus.PENDING, Priority.LOW, 0));
+
+            assertThat(store.finishRefresh()).isEqualTo(1);
+            assertThat(store.findById(1L).status()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(store.findById(2L)).isNull();
+            assertThat(store.findById(3L)).isNotNull();
+            assertThat(store.count(TaskStatus.PENDING, null)).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("las escrituras locales durante el repaso prevalecen sobre lo leido")
+        void writesDuringRefreshWin() {
+            store.apply(task(1, TaskStatus.PENDING, Priority.LOW, 0));
+            store.apply(task(2, TaskStatus.PENDING, Priority.LOW, 0));
+
+            store.beginRefresh();
+            store.apply(task(1, TaskStatus.IN_PROGRESS, Priority.LOW, 1));
+            store.remove(2L);
+            store.apply(task(4, TaskStatus.PENDING, Priority.LOW, 0));
+            store.refresh(task(1, TaskStatus.PENDING, Priority.LOW, 0));
+            store.refresh(task(2, TaskStatus.PENDING, Priority.LOW, 0));
+            store.finishRefresh();
+
+            assertThat(store.findById(1L).status()).isEqualTo(TaskStatus.IN_PROGRESS);
+            assertThat(store.findById(2L)).isNull();
+            assertThat(store.findById(4L)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("no repasa mientras se esta cargando")
+        void noRefreshWhileLoading() {
+            store.beginLoad();
+
+            assertThat(store.beginRefresh()).isFalse();
+        }
+
+        @Test
+        @DisplayName("compacta las filas muertas y conserva las vivas")
+        void compactsDeadRows() {
+            for (long id = 1; id <= 5000; id++) {
+                store.apply(task(id, TaskStatus.PENDING, Priority.LOW));
+            }
+            for (long id = 1; id <= 4000; id++) {
+                store.remove(id);
+            }
+
+            assertThat(store.size()).isEqualTo(1000);
+            assertThat(store.findById(4001L).title()).isEqualTo("Tarea 4001");
+            assertThat(store.findAll(TaskStatus.PENDING, null, null, 2).items())
+                    .extracting(TaskResponse::id).containsExactly(4001L, 4002L);
+        }
+
+        @Test
+        @DisplayName("ocupa menos de 200 bytes por tarea con textos repetidos")
+        void estimatesCompactFootprint() {
+            HotTaskStore large = new HotTaskStore(100_000);
+            large.beginLoad();
+            for (long id = 1; id <= 100_000; id++) {
+                LocalDateTime created = BASE.plusSeconds(id);
+                large.load(new TaskResponse(id, "Revisar PR " + (id % 100), null, TaskStatus.PENDING,
+                        Priority.MEDIUM, created, created, 0L));
+            }
+            large.finishLoad();
+
+            assertThat(large.estimatedBytes() / large.size()).isLessThan(200);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.cayetanobp.taskmanager.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("publica metricas de peticiones, repositorio, pool y consultas en formato Prometheus")
+    void exposesPrometheusMetrics() throws Exception {
+        mockMvc.perform(get("/api/tasks")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(containsString("hikaricp_connections")))
+                .andExpect(content().string(containsString("task_request_queries_count")));
+    }
+
+    @Test
+    @DisplayName("cuenta las sentencias de JdbcTemplate de una peticion real")
+    void countsJdbcTemplateStatementsPerRequest() throws Exception {
+        DistributionSummary queries = meterRegistry.get("task.request.queries").summary();
+        long requests = queries.count();
+        double statements = queries.totalAmount();
+
+        mockMvc.perform(get("/api/tasks/search").param("q", "informe")).andExpect(status().isOk());
+
+        assertThat(queries.count()).isEqualTo(requests + 1);
+        assertThat(queries.totalAmount() - statements).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cuenta las sentencias ejecutadas en el hilo, no las preparadas")
+    void countsExecutedStatements() {
+        queryCounter.reset();
+
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Long.class);
+        jdbcTemplate.batchUpdate("UPDATE tasks SET version = version WHERE id = ?",
+                List.of(new Object[]{1L}, new Object[]{2L}));
+
+        assertThat(queryCounter.current()).isEqualTo(2);
+        queryCounter.clear();
+    }
+}
@@ -0,0 +1,52 @@
+package com.cayetanobp.taskmanager.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileOutboxSinkTest {
+
+    @TempDir
+    Path dir;
+
+    private static OutboxMessage message(long id) {
+        return new OutboxMessage(id, "CREATED", id, "{\"taskId\":" + id + "}", LocalDateTime.now());
+    }
+
+    @Test
+    @DisplayName("rota el fichero al llegar al tamaño máximo y conserva solo max-files rotados")
+    void rotatesAndKeepsBoundedHistory() throws Exception {
+        Path path = dir.resolve("outbox.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(path, DataSize.ofBytes(1), 2);
+
+        for (long id = 1; id <= 4; id++) {
+            sink.publish(List.of(message(id)));
+        }
+
+        assertThat(Files.readAllLines(path)).containsExactly("{\"id\":4,\"event\":{\"taskId\":4}}");
+        assertThat(Files.readAllLines(dir.resolve("outbox.ndjson.1"))).containsExactly("{\"id\":3,\"event\":{\"taskId\":3}}");
+        assertThat(Files.readAllLines(dir.resolve("outbox.ndjson.2"))).containsExactly("{\"id\":2,\"event\":{\"taskId\":2}}");
+        assertThat(dir.resolve("outbox.ndjson.3")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("añade al mismo fichero mientras no supera el tamaño máximo")
+    void appendsBelowMaxSize() throws Exception {
+        Path path = dir.resolve("outbox.ndjson");
+        FileOutboxSink sink = new FileOutboxSink(path, DataSize.ofKilobytes(1), 2);
+
+        sink.publish(List.of(message(1), message(2)));
+        sink.publish(List.of(message(3)));
+
+        assertThat(Files.readAllLines(path)).hasSize(3);
+        assertThat(dir.resolve("outbox.ndjson.1")).doesNotExist();
+    }
+}
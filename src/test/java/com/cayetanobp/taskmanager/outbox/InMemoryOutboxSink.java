@@ -0,0 +1,39 @@
+package com.cayetanobp.taskmanager.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Sink de los tests: guarda los últimos eventos en memoria para inspeccionarlos. Solo existe en el
+ * classpath de test, así que en producción no puede quedar activo por omisión.
+ */
+@Component
+@ConditionalOnProperty(name = "task.outbox.sink", havingValue = "in-memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final ArrayDeque<OutboxMessage> messages;
+
+    public InMemoryOutboxSink(@Value("${task.outbox.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+        this.messages = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.pollFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    public synchronized List<OutboxMessage> messages() {
+        return List.copyOf(messages);
+    }
+}
@@ -0,0 +1,115 @@
+package com.cayetanobp.taskmanager.outbox;
+
+import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.service.TaskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdb",
+        "task.outbox.relay.enabled=true",
+        "task.outbox.relay.interval-ms=3600000",
+        "task.outbox.relay.batch-size=2"
+})
+class OutboxIntegrationTest {
+
+    @Autowired
+    private TaskService service;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM task_outbox");
+    }
+
+    private int pending() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task_outbox", Integer.class);
+    }
+
+    @Test
+    @DisplayName("escribe el evento en la misma transaccion y el relay lo entrega")
+    void writesEventAndRelaysIt() {
+        TaskResponse created = service.create(new CreateTaskRequest("Con outbox", null, Priority.HIGH));
+
+        assertThat(pending()).isEqualTo(1);
+        assertThat(relay.relayPending()).isEqualTo(1);
+        assertThat(pending()).isZero();
+        assertThat(sink.messages())
+                .filteredOn(message -> created.id().equals(message.taskId()))
+                .singleElement()
+                .satisfies(message -> {
+                    assertThat(message.type()).isEqualTo("CREATED");
+                    assertThat(message.payload()).contains("\"title\":\"Con outbox\"");
+                });
+    }
+
+    @Test
+    @DisplayName("no escribe nada si la transaccion se deshace")
+    void writesNothingOnRollback() {
+        AtomicReference<TaskResponse> created = new AtomicReference<>();
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            created.set(service.create(new CreateTaskRequest("Deshecha", null, null)));
+            throw new IllegalStateException("rollback");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(created.get()).isNotNull();
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("drena la tabla en varios lotes")
+    void drainsInBatches() {
+        List<CreateTaskRequest> requests = IntStream.range(0, 5)
+                .mapToObj(i -> new CreateTaskRequest("Lote " + i, null, null))
+                .toList();
+        service.createAll(requests);
+
+        assertThat(pending()).isEqualTo(5);
+        assertThat(relay.relayPending()).isEqualTo(5);
+        assertThat(pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("no arranca el relay sin un sink configurado")
+    void requiresConfiguredSink() {
+        ObjectProvider<OutboxSink> noSink = new StaticListableBeanFactory().getBeanProvider(OutboxSink.class);
+
+        assertThatThrownBy(() -> new OutboxRelay(dataSource, transactionManager, noSink, 2, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("task.outbox.sink");
+    }
+}
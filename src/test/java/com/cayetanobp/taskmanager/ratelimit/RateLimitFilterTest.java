@@ -0,0 +1,138 @@
+package com.cayetanobp.taskmanager.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimitFilterTest {
+
+    private AtomicInteger poolWaiting;
+    private LoadShedder shedder;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        poolWaiting = new AtomicInteger();
+        shedder = new LoadShedder(1, 5, poolWaiting::get);
+        Map<RequestCost, Integer> costs = Map.of(
+                RequestCost.UNFILTERED_LIST, 10,
+                RequestCost.FILTERED_LIST, 4,
+                RequestCost.SINGLE_TASK, 1,
+                RequestCost.OTHER, 2);
+        filter = new RateLimitFilter(new RateLimiter(1, 10, 100), shedder, costs, Set.of("cliente-b"),
+                Duration.ofSeconds(2), new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+
+    private MockHttpServletResponse execute(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("una lista sin filtros agota la cuota antes que las lecturas por id")
+    void unfilteredListCostsMore() throws Exception {
+        assertThat(execute(get("/api/tasks"), new MockFilterChain()).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = execute(get("/api/tasks/1"), new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentAsString()).contains("Demasiadas peticiones");
+    }
+
+    @Test
+    @DisplayName("las lecturas por id consumen un token cada una")
+    void singleReadsAreCheap() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(execute(get("/api/tasks/" + i), new MockFilterChain()).getStatus()).isEqualTo(200);
+        }
+        assertThat(execute(get("/api/tasks/11"), new MockFilterChain()).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("la clave de API identifica al cliente aunque comparta IP")
+    void apiKeyIdentifiesClient() throws Exception {
+        execute(get("/api/tasks"), new MockFilterChain());
+
+        MockHttpServletRequest other = get("/api/tasks");
+        other.addHeader(RateLimitFilter.CLIENT_HEADER, "cliente-b");
+        assertThat(execute(other, new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("una clave desconocida no da cuota propia: cuenta por IP")
+    void unknownApiKeyCountsByIp() throws Exception {
+        execute(get("/api/tasks"), new MockFilterChain());
+
+        MockHttpServletRequest forged = get("/api/tasks/1");
+        forged.addHeader(RateLimitFilter.CLIENT_HEADER, "inventada-" + System.nanoTime());
+        assertThat(execute(forged, new MockFilterChain()).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("descarta con 503 cuando hay demasiadas peticiones en curso")
+    void shedsWhenTooManyInFlight() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[1];
+        FilterChain holdingChain = (req, res) -> {
+            MockHttpServletRequest second = get("/api/tasks/2");
+            second.setRemoteAddr("10.0.0.2");
+            nested[0] = new MockHttpServletResponse();
+            filter.doFilter(second, nested[0], new MockFilterChain());
+        };
+
+        execute(get("/api/tasks/1"), holdingChain);
+
+        assertThat(nested[0].getStatus()).isEqualTo(503);
+        assertThat(nested[0].getHeader("Retry-After")).isEqualTo("2");
+        assertThat(shedder.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("descarta con 503 cuando hay demasiados hilos esperando conexion")
+    void shedsWhenPoolIsSaturated() throws Exception {
+        poolWaiting.set(5);
+
+        assertThat(execute(get("/api/tasks/1"), new MockFilterChain()).getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    @DisplayName("no limita rutas fuera de la API de tareas")
+    void ignoresOtherPaths() throws Exception {
+        poolWaiting.set(5);
+
+        assertThat(execute(get("/actuator/health"), new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("no arranca si un coste configurado supera la capacidad del limitador")
+    void rejectsCostAboveCapacityAtStartup() {
+        RateLimitConfig config = new RateLimitConfig();
+
+        assertThatThrownBy(() -> config.rateLimitFilter(new RateLimiter(1, 10, 100), shedder, new ObjectMapper(),
+                new SimpleMeterRegistry(), 11, 4, 1, 2, List.of(), Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("UNFILTERED_LIST");
+    }
+}
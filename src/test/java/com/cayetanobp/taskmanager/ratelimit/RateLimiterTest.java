@@ -0,0 +1,86 @@
+package com.cayetanobp.taskmanager.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private AtomicLong now;
+    private RateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000_000_000L);
+        limiter = new RateLimiter(10, 20, 1000, now::get);
+    }
+
+    @Test
+    @DisplayName("admite rafagas hasta la capacidad y luego pide esperar")
+    void allowsBurstUpToCapacity() {
+        assertThat(limiter.tryAcquire("a", 15)).isZero();
+        assertThat(limiter.tryAcquire("a", 5)).isZero();
+
+        assertThat(limiter.tryAcquire("a", 1)).isEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("recarga tokens con el paso del tiempo")
+    void refillsOverTime() {
+        limiter.tryAcquire("a", 20);
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+
+        assertThat(limiter.tryAcquire("a", 5)).isZero();
+        assertThat(limiter.tryAcquire("a", 1)).isPositive();
+    }
+
+    @Test
+    @DisplayName("el coste de la peticion determina la espera")
+    void waitDependsOnCost() {
+        limiter.tryAcquire("a", 20);
+
+        assertThat(limiter.tryAcquire("a", 10)).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("cada cliente tiene su propio cubo")
+    void bucketsArePerClient() {
+        limiter.tryAcquire("a", 20);
+
+        assertThat(limiter.tryAcquire("b", 20)).isZero();
+    }
+
+    @Test
+    @DisplayName("rechaza costes mayores que la capacidad")
+    void rejectsCostAboveCapacity() {
+        assertThatThrownBy(() -> limiter.tryAcquire("a", 21)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("no concede mas tokens de la capacidad con accesos concurrentes")
+    void neverOvergrantsUnderContention() throws InterruptedException {
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            executor.submit(() -> {
+                if (limiter.tryAcquire("a", 1).isZero()) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted).hasValue(20);
+    }
+}
@@ -0,0 +1,232 @@
+package com.cayetanobp.taskmanager.repository;
+
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ejecuta cada finder de los repositorios, captura el SQL que genera Hibernate y comprueba con
+ * {@code EXPLAIN} el nombre exacto del índice que elige la base de datos.
+ */
+@SpringBootTest
+class TaskRepositoryIndexTest {
+
+    /** Se resuelve al índice de la clave primaria de la tabla, cuyo nombre genera la base de datos. */
+    private static final String PRIMARY_KEY = "PRIMARY KEY";
+
+    private static final Map<String, String> PLANS = Map.ofEntries(
+            Map.entry("findByStatus", "IDX_TASKS_STATUS_CREATED_AT"),
+            Map.entry("findByPriority", "IDX_TASKS_PRIORITY_CREATED_AT"),
+            Map.entry("findByStatusAndPriority", "IDX_TASKS_STATUS_PRIORITY_CREATED_AT"),
+            Map.entry("findResponseById", PRIMARY_KEY),
+            Map.entry("findAllByOrderByCreatedAtAscIdAsc", "IDX_TASKS_CREATED_AT_ID"),
+            Map.entry("findByStatusOrderByCreatedAtAscIdAsc", "IDX_TASKS_STATUS_CREATED_AT"),
+            Map.entry("findByPriorityOrderByCreatedAtAscIdAsc", "IDX_TASKS_PRIORITY_CREATED_AT"),
+            Map.entry("findByStatusAndPriorityOrderByCreatedAtAscIdAsc", "IDX_TASKS_STATUS_PRIORITY_CREATED_AT"),
+            Map.entry("findPageAfter", "IDX_TASKS_CREATED_AT_ID"),
+            Map.entry("findPageByStatusAfter", "IDX_TASKS_STATUS_CREATED_AT"),
+            Map.entry("findPageByPriorityAfter", "IDX_TASKS_PRIORITY_CREATED_AT"),
+            Map.entry("findPageByStatusAndPriorityAfter", "IDX_TASKS_STATUS_PRIORITY_CREATED_AT"),
+            Map.entry("findChangedAfter", "IDX_TASKS_CHANGE_SEQ_ID"),
+            Map.entry("findChangeSeqs", PRIMARY_KEY),
+            Map.entry("findVersion", "IDX_TASKS_CHANGE_SEQ_ID"),
+            Map.entry("findVersionByStatus", "IDX_TASKS_STATUS_CREATED_AT"),
+            Map.entry("findVersionByPriority", "IDX_TASKS_PRIORITY_CREATED_AT"),
+            Map.entry("findVersionByStatusAndPriority", "IDX_TASKS_STATUS_PRIORITY_CREATED_AT")
+    );
+
+    private static final Map<String, String> TOMBSTONE_PLANS = Map.of(
+            "findPageAfter", "IDX_TASK_TOMBSTONES_CHANGE_SEQ_ID",
+            "findChangeSeqs", PRIMARY_KEY
+    );
+
+    /** Primer índice del plan de H2: {@code /* PUBLIC.IDX_NOMBRE: condición * /}. */
+    private static final Pattern INDEX = Pattern.compile("/\\* (?:PUBLIC\\.)?([^:*]+?)(?::[^*]*)? \\*/");
+
+    /** SQL preparado por el hilo del test; las tareas programadas de fondo no se anotan. */
+    private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+    private static volatile Thread capturing;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    record Finder(Class<?> repository, Method method, String expectedIndex) {
+
+        @Override
+        public String toString() {
+            return repository.getSimpleName() + "." + method.getName();
+        }
+    }
+
+    static Stream<Finder> finders() {
+        return Stream.concat(finders(TaskRepository.class, PLANS),
+                finders(TaskTombstoneRepository.class, TOMBSTONE_PLANS));
+    }
+
+    private static Stream<Finder> finders(Class<?> repository, Map<String, String> plans) {
+        return Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> plans.containsKey(method.getName()))
+                .map(method -> new Finder(repository, method, plans.get(method.getName())));
+    }
+
+    @Test
+    @DisplayName("cada finder del repositorio tiene un plan registrado")
+    void everyFinderHasRegisteredPlan() {
+        assertFindersRegistered(TaskRepository.class, PLANS);
+        assertFindersRegistered(TaskTombstoneRepository.class, TOMBSTONE_PLANS);
+    }
+
+    private static void assertFindersRegistered(Class<?> repository, Map<String, String> plans) {
+        Stream<String> finders = Arrays.stream(repository.getDeclaredMethods())
+                .map(Method::getName)
+                .filter(name -> name.startsWith("find"));
+
+        assertThat(finders).allSatisfy(name -> assertThat(plans)
+                .as("Registrar el indice que debe usar %s.%s", repository.getSimpleName(), name)
+                .containsKey(name));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    @DisplayName("el SQL generado por el finder usa el indice esperado")
+    void finderUsesIndex(Finder finder) throws Exception {
+        String sql = capture(finder);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+
+        Matcher index = INDEX.matcher(plan);
+        assertThat(index.find()).as("Plan sin indice:%n%s", plan).isTrue();
+        assertThat(index.group(1)).as(plan).isEqualTo(resolve(finder));
+    }
+
+    private String capture(Finder finder) throws Exception {
+        Object repository = context.getBean(finder.repository());
+        Object[] args = Arrays.stream(finder.method().getParameterTypes())
+                .map(TaskRepositoryIndexTest::sampleArgument)
+                .toArray();
+
+        STATEMENTS.clear();
+        capturing = Thread.currentThread();
+        try {
+            // Dentro de una transacción, que exigen los finders con bloqueo.
+            transactionTemplate.execute(status -> {
+                try {
+                    return finder.method().invoke(repository, args);
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            });
+        } finally {
+            capturing = null;
+        }
+        assertThat(STATEMENTS).as("%s debe lanzar una sola consulta", finder).hasSize(1);
+        return STATEMENTS.get(0);
+    }
+
+    private String resolve(Finder finder) {
+        if (!finder.expectedIndex().equals(PRIMARY_KEY)) {
+            return finder.expectedIndex();
+        }
+        String table = finder.repository() == TaskRepository.class ? "TASKS" : "TASK_TOMBSTONES";
+        return jdbcTemplate.queryForObject("""
+                SELECT index_name FROM information_schema.indexes
+                WHERE table_name = ? AND index_type_name = 'PRIMARY KEY'""", String.class, table);
+    }
+
+    private static Object sampleArgument(Class<?> type) {
+        if (type == TaskStatus.class) {
+            return TaskStatus.PENDING;
+        }
+        if (type == Priority.class) {
+            return Priority.HIGH;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.of(2026, 1, 1, 0, 0);
+        }
+        if (type == Long.class) {
+            return 1L;
+        }
+        if (type == Pageable.class) {
+            return PageRequest.of(0, 101);
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return List.of(1L);
+        }
+        throw new IllegalArgumentException("Sin valor de ejemplo para " + type);
+    }
+
+    @TestConfiguration
+    static class StatementCapture {
+
+        /** Envuelve el DataSource para anotar el SQL de cada sentencia preparada. */
+        @Bean
+        static BeanPostProcessor statementCapturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            return capturing(super.getConnection());
+                        }
+                    };
+                }
+            };
+        }
+
+        private static Connection capturing(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("prepareStatement") && Thread.currentThread() == capturing) {
+                            STATEMENTS.add((String) args[0]);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    });
+        }
+    }
+}
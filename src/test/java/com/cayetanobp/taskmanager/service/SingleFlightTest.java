@@ -0,0 +1,145 @@
+package com.cayetanobp.taskmanager.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> flight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        flight = new SingleFlight<>("findById", meterRegistry);
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).tag("operation", "findById").counter().count();
+    }
+
+    /**
+     * Lanza {@code callers} llamadas con la misma clave mientras la primera sigue bloqueada.
+     */
+    private List<Future<String>> concurrentCalls(int callers, CountDownLatch release, AtomicInteger executions)
+            throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        results.add(executor.submit(() -> flight.execute(1L, () -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "tarea 1";
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < callers; i++) {
+            results.add(executor.submit(() -> flight.execute(1L, () -> {
+                executions.incrementAndGet();
+                return "otra consulta";
+            })));
+        }
+        while (counter("task.singleflight.collapsed") < callers - 1) {
+            Thread.onSpinWait();
+        }
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("las llamadas concurrentes con la misma clave comparten una sola ejecucion")
+    void collapsesConcurrentCalls() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+
+        List<Future<String>> results = concurrentCalls(5, release, executions);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("tarea 1");
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(counter("task.singleflight.executed")).isEqualTo(1);
+        assertThat(counter("task.singleflight.collapsed")).isEqualTo(4);
+        assertThat(flight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("las llamadas en espera reciben la misma excepcion")
+    void propagatesFailureToWaiters() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> flight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("fallo en la consulta");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> follower = executor.submit(() -> flight.execute(1L, () -> "no deberia ejecutarse"));
+        while (counter("task.singleflight.collapsed") < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("tras olvidar la clave la siguiente llamada ejecuta una consulta nueva")
+    void forgetStartsNewFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> stale = executor.submit(() -> flight.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            return "antes de escribir";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        flight.forget(1L);
+        String fresh = flight.execute(1L, () -> "despues de escribir");
+        release.countDown();
+
+        assertThat(fresh).isEqualTo("despues de escribir");
+        assertThat(stale.get(5, TimeUnit.SECONDS)).isEqualTo("antes de escribir");
+    }
+
+    @Test
+    @DisplayName("claves distintas no se agrupan")
+    void differentKeysRunIndependently() {
+        assertThat(flight.execute(1L, () -> "uno")).isEqualTo("uno");
+        assertThat(flight.execute(2L, () -> "dos")).isEqualTo("dos");
+
+        assertThat(counter("task.singleflight.executed")).isEqualTo(2);
+        assertThat(counter("task.singleflight.collapsed")).isZero();
+    }
+}
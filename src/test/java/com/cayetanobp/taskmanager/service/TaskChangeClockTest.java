@@ -0,0 +1,36 @@
+package com.cayetanobp.taskmanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeClockTest {
+
+    @Test
+    @DisplayName("la marca de agua es la ultima anotacion con el retraso cumplido")
+    void watermarkLagsBehindSamples() {
+        TaskChangeClock.Samples samples = new TaskChangeClock.Samples(5);
+
+        assertThat(samples.watermark(0)).isEqualTo(-1);
+        samples.add(0, 10);
+        samples.add(3, 20);
+        assertThat(samples.watermark(4)).isEqualTo(-1);
+        assertThat(samples.watermark(5)).isEqualTo(10);
+
+        samples.add(6, 30);
+        assertThat(samples.watermark(9)).isEqualTo(20);
+        assertThat(samples.watermark(100)).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("no retrocede aunque se consulte con un instante anterior")
+    void watermarkNeverMovesBack() {
+        TaskChangeClock.Samples samples = new TaskChangeClock.Samples(5);
+        samples.add(0, 10);
+        samples.add(3, 20);
+
+        assertThat(samples.watermark(8)).isEqualTo(20);
+        assertThat(samples.watermark(6)).isEqualTo(20);
+    }
+}
@@ -1,13 +1,27 @@
 package com.cayetanobp.taskmanager.service;
 
+import com.cayetanobp.taskmanager.cache.InMemoryCacheInvalidationBroker;
+import com.cayetanobp.taskmanager.cache.TaskCache;
+import com.cayetanobp.taskmanager.dto.BatchUpdateTaskRequest;
 import com.cayetanobp.taskmanager.dto.CreateTaskRequest;
+import com.cayetanobp.taskmanager.dto.TaskCursor;
+import com.cayetanobp.taskmanager.dto.TaskField;
+import com.cayetanobp.taskmanager.dto.TaskPage;
 import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskVersion;
 import com.cayetanobp.taskmanager.dto.UpdateTaskRequest;
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
 import com.cayetanobp.taskmanager.exception.TaskNotFoundException;
+import com.cayetanobp.taskmanager.exception.TaskVersionConflictException;
 import com.cayetanobp.taskmanager.model.Priority;
 import com.cayetanobp.taskmanager.model.Task;
 import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.repository.ArchivedTaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskJdbcRepository;
 import com.cayetanobp.taskmanager.repository.TaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskSearchRepository;
+import com.cayetanobp.taskmanager.repository.TaskTombstoneRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,14 +29,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +57,25 @@ class TaskServiceTest {
     @Mock
     private TaskRepository repository;
 
+    @Mock
+    private TaskJdbcRepository jdbcRepository;
+
+    @Mock
+    private TaskSearchRepository searchRepository;
+
+    @Mock
+    private ArchivedTaskRepository archiveRepository;
+
+    @Mock
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
+    @Spy
+    private TaskCache cache = new TaskCache(
+            100, Duration.ofMinutes(5), new InMemoryCacheInvalidationBroker(), new SimpleMeterRegistry());
+
     @InjectMocks
     private TaskService service;
 
@@ -51,49 +96,151 @@ class TaskServiceTest {
     class FindAll {
 
         @Test
-        @DisplayName("devuelve todas las tareas sin filtros")
-        void returnsAllTasksWithoutFilters() {
-            when(repository.findAll()).thenReturn(List.of(sampleTask));
+        @DisplayName("devuelve la primera pagina sin filtros")
+        void returnsFirstPageWithoutFilters() {
+            when(repository.findAllByOrderByCreatedAtAscIdAsc(any(Pageable.class)))
+                    .thenReturn(List.of(TaskResponse.from(sampleTask)));
 
-            List<TaskResponse> result = service.findAll(null, null);
+            TaskPage result = service.findAll(null, null, null, 10);
 
-            assertThat(result).hasSize(1);
-            assertThat(result.get(0).title()).isEqualTo("Tarea de prueba");
-            verify(repository).findAll();
+            assertThat(result.items()).hasSize(1);
+            assertThat(result.items().get(0).title()).isEqualTo("Tarea de prueba");
+            assertThat(result.hasNext()).isFalse();
+            verify(repository).findAllByOrderByCreatedAtAscIdAsc(PageRequest.of(0, 11));
         }
 
         @Test
         @DisplayName("filtra por estado")
         void filtersByStatus() {
-            when(repository.findByStatus(TaskStatus.PENDING)).thenReturn(List.of(sampleTask));
+            when(repository.findByStatusOrderByCreatedAtAscIdAsc(eq(TaskStatus.PENDING), any(Pageable.class)))
+                    .thenReturn(List.of(TaskResponse.from(sampleTask)));
 
-            List<TaskResponse> result = service.findAll(TaskStatus.PENDING, null);
+            TaskPage result = service.findAll(TaskStatus.PENDING, null, null, 10);
 
-            assertThat(result).hasSize(1);
-            verify(repository).findByStatus(TaskStatus.PENDING);
+            assertThat(result.items()).hasSize(1);
+            verify(repository).findByStatusOrderByCreatedAtAscIdAsc(eq(TaskStatus.PENDING), any(Pageable.class));
         }
 
         @Test
         @DisplayName("filtra por prioridad")
         void filtersByPriority() {
-            when(repository.findByPriority(Priority.HIGH)).thenReturn(List.of());
+            when(repository.findByPriorityOrderByCreatedAtAscIdAsc(eq(Priority.HIGH), any(Pageable.class)))
+                    .thenReturn(List.of());
 
-            List<TaskResponse> result = service.findAll(null, Priority.HIGH);
+            TaskPage result = service.findAll(null, Priority.HIGH, null, 10);
 
-            assertThat(result).isEmpty();
-            verify(repository).findByPriority(Priority.HIGH);
+            assertThat(result.items()).isEmpty();
+            verify(repository).findByPriorityOrderByCreatedAtAscIdAsc(eq(Priority.HIGH), any(Pageable.class));
         }
 
         @Test
         @DisplayName("filtra por estado y prioridad")
         void filtersByStatusAndPriority() {
-            when(repository.findByStatusAndPriority(TaskStatus.PENDING, Priority.MEDIUM))
-                    .thenReturn(List.of(sampleTask));
+            when(repository.findByStatusAndPriorityOrderByCreatedAtAscIdAsc(
+                    eq(TaskStatus.PENDING), eq(Priority.MEDIUM), any(Pageable.class)))
+                    .thenReturn(List.of(TaskResponse.from(sampleTask)));
 
-            List<TaskResponse> result = service.findAll(TaskStatus.PENDING, Priority.MEDIUM);
+            TaskPage result = service.findAll(TaskStatus.PENDING, Priority.MEDIUM, null, 10);
 
-            assertThat(result).hasSize(1);
-            verify(repository).findByStatusAndPriority(TaskStatus.PENDING, Priority.MEDIUM);
+            assertThat(result.items()).hasSize(1);
+            verify(repository).findByStatusAndPriorityOrderByCreatedAtAscIdAsc(
+                    eq(TaskStatus.PENDING), eq(Priority.MEDIUM), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("devuelve cursor cuando hay mas resultados")
+        void returnsCursorWhenMoreResults() {
+            Task second = new Task();
+            second.setId(2L);
+            second.setTitle("Segunda");
+            ReflectionTestUtils.setField(sampleTask, "createdAt", LocalDateTime.of(2026, 1, 1, 10, 0));
+            when(repository.findAllByOrderByCreatedAtAscIdAsc(any(Pageable.class)))
+                    .thenReturn(List.of(TaskResponse.from(sampleTask), TaskResponse.from(second)));
+
+            TaskPage result = service.findAll(null, null, null, 1);
+
+            assertThat(result.items()).hasSize(1);
+            assertThat(result.hasNext()).isTrue();
+            assertThat(TaskCursor.decode(result.next()).id()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("continua desde el cursor")
+        void continuesFromCursor() {
+            LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 10, 0);
+            when(repository.findPageAfter(eq(createdAt), eq(5L), any(Pageable.class)))
+                    .thenReturn(List.of(TaskResponse.from(sampleTask)));
+
+            TaskPage result = service.findAll(null, null, new TaskCursor(createdAt, 5L), 10);
+
+            assertThat(result.items()).hasSize(1);
+            verify(repository).findPageAfter(eq(createdAt), eq(5L), any(Pageable.class));
+        }
+
+        @Test
+        @DisplayName("consulta solo las columnas pedidas")
+        void queriesOnlySelectedColumns() {
+            Set<TaskField> fields = TaskField.parse("id,title,status");
+            when(jdbcRepository.findPage(null, null, null, 11, fields))
+                    .thenReturn(List.of(TaskResponse.from(sampleTask)));
+
+            TaskPage result = service.findAll(null, null, null, 10, fields);
+
+            assertThat(result.items()).hasSize(1);
+            verifyNoInteractions(repository);
+        }
+    }
+
+    @Nested
+    @DisplayName("findVersion")
+    class FindVersion {
+
+        @Test
+        @DisplayName("usa una sola consulta agregada por combinacion de filtros")
+        void usesSingleAggregateQuery() {
+            TaskVersion version = new TaskVersion(42L, 3L);
+            when(repository.findVersionByStatus(TaskStatus.PENDING)).thenReturn(version);
+
+            assertThat(service.findVersion(TaskStatus.PENDING, null)).isEqualTo(version);
+            verify(repository).findVersionByStatus(TaskStatus.PENDING);
+            verifyNoMoreInteractions(repository);
+        }
+    }
+
+    @Nested
+    @DisplayName("search")
+    class Search {
+
+        @Test
+        @DisplayName("calcula el desplazamiento y la pagina siguiente")
+        void computesOffsetAndNextPage() {
+            TaskResponse task = TaskResponse.from(sampleTask);
+            when(searchRepository.search("factura", 20, 11))
+                    .thenReturn(Collections.nCopies(11, task));
+
+            TaskPage result = service.search("  factura ", 2, 10);
+
+            assertThat(result.items()).hasSize(10);
+            assertThat(result.next()).isEqualTo("3");
+        }
+
+        @Test
+        @DisplayName("no devuelve pagina siguiente en la ultima pagina")
+        void noNextPageOnLastPage() {
+            when(searchRepository.search("factura", 0, 11)).thenReturn(List.of(TaskResponse.from(sampleTask)));
+
+            TaskPage result = service.search("factura", 0, 10);
+
+            assertThat(result.items()).hasSize(1);
+            assertThat(result.hasNext()).isFalse();
+        }
+
+        @Test
+        @DisplayName("rechaza texto vacio")
+        void rejectsBlankText() {
+            assertThatThrownBy(() -> service.search(" ", 0, 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(searchRepository);
         }
     }
 
@@ -104,7 +251,7 @@ class TaskServiceTest {
         @Test
         @DisplayName("devuelve tarea cuando existe")
         void returnsTaskWhenExists() {
-            when(repository.findById(1L)).thenReturn(Optional.of(sampleTask));
+            when(repository.findResponseById(1L)).thenAnswer(inv -> Optional.of(TaskResponse.from(sampleTask)));
 
             TaskResponse result = service.findById(1L);
 
@@ -115,12 +262,50 @@ class TaskServiceTest {
         @Test
         @DisplayName("lanza excepcion cuando no existe")
         void throwsWhenNotFound() {
-            when(repository.findById(99L)).thenReturn(Optional.empty());
+            when(repository.findResponseById(99L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> service.findById(99L))
                     .isInstanceOf(TaskNotFoundException.class)
                     .hasMessageContaining("99");
         }
+
+        @Test
+        @DisplayName("busca en el archivo si no esta en la tabla principal")
+        void fallsBackToArchive() {
+            TaskResponse archived = new TaskResponse(7L, "Archivada", null, TaskStatus.DONE, Priority.LOW,
+                    LocalDateTime.of(2025, 1, 1, 10, 0), LocalDateTime.of(2025, 1, 2, 10, 0), 2L);
+            when(repository.findResponseById(7L)).thenReturn(Optional.empty());
+            when(archiveRepository.findResponseById(7L)).thenReturn(Optional.of(archived));
+
+            assertThat(service.findById(7L)).isEqualTo(archived);
+        }
+
+        @Test
+        @DisplayName("sirve lecturas repetidas desde la cache")
+        void servesRepeatedReadsFromCache() {
+            when(repository.findResponseById(1L)).thenAnswer(inv -> Optional.of(TaskResponse.from(sampleTask)));
+
+            service.findById(1L);
+            TaskResponse result = service.findById(1L);
+
+            assertThat(result.title()).isEqualTo("Tarea de prueba");
+            verify(repository, times(1)).findResponseById(1L);
+        }
+
+        @Test
+        @DisplayName("vuelve a la base de datos tras una actualizacion")
+        void reloadsAfterUpdate() {
+            when(repository.findResponseById(1L)).thenAnswer(inv -> Optional.of(TaskResponse.from(sampleTask)));
+            when(repository.findById(1L)).thenReturn(Optional.of(sampleTask));
+            when(repository.save(any(Task.class))).thenReturn(sampleTask);
+
+            service.findById(1L);
+            service.update(1L, new UpdateTaskRequest("Nuevo titulo", null, null, null));
+            TaskResponse result = service.findById(1L);
+
+            assertThat(result.title()).isEqualTo("Nuevo titulo");
+            verify(cache).invalidate(1L);
+        }
     }
 
     @Nested
@@ -137,6 +322,7 @@ class TaskServiceTest {
 
             assertThat(result).isNotNull();
             verify(repository).save(any(Task.class));
+            verify(events).publishEvent(TaskChangedEvent.created(result));
         }
 
         @Test
@@ -151,6 +337,27 @@ class TaskServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("createAll")
+    class CreateAll {
+
+        @Test
+        @DisplayName("guarda el lote completo con una sola llamada")
+        void savesWholeBatch() {
+            List<CreateTaskRequest> requests = List.of(
+                    new CreateTaskRequest("Uno", null, null),
+                    new CreateTaskRequest("Dos", null, Priority.HIGH));
+            when(repository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+            List<TaskResponse> result = service.createAll(requests);
+
+            assertThat(result).extracting(TaskResponse::priority)
+                    .containsExactly(Priority.MEDIUM, Priority.HIGH);
+            verify(repository).saveAll(anyList());
+            verify(repository, never()).save(any(Task.class));
+        }
+    }
+
     @Nested
     @DisplayName("update")
     class Update {
@@ -171,27 +378,179 @@ class TaskServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("update con version")
+    class ConditionalUpdate {
+
+        private final UpdateTaskRequest request = new UpdateTaskRequest(null, null, TaskStatus.DONE, null);
+
+        @Test
+        @DisplayName("actualiza con una sola sentencia cuando la tarea esta en cache")
+        void updatesWithSingleStatementWhenCached() {
+            TaskResponse cached = new TaskResponse(1L, "Tarea de prueba", "Descripcion de prueba",
+                    TaskStatus.PENDING, Priority.MEDIUM, LocalDateTime.of(2026, 1, 1, 10, 0), null, 3L);
+            cache.get(1L, () -> cached);
+            when(repository.updateIfVersion(eq(1L), eq(3L), isNull(), isNull(), eq(TaskStatus.DONE), isNull(), any()))
+                    .thenReturn(1);
+
+            TaskResponse result = service.update(1L, 3L, request);
+
+            assertThat(result.status()).isEqualTo(TaskStatus.DONE);
+            assertThat(result.title()).isEqualTo("Tarea de prueba");
+            assertThat(result.version()).isEqualTo(4L);
+            verify(repository, never()).findResponseById(any());
+            verify(events).publishEvent(TaskChangedEvent.updated(result, cached));
+        }
+
+        @Test
+        @DisplayName("carga la fila anterior cuando la tarea no esta en cache")
+        void loadsPreviousWhenNotCached() {
+            TaskResponse stored = new TaskResponse(1L, "Tarea de prueba", null, TaskStatus.PENDING,
+                    Priority.MEDIUM, LocalDateTime.of(2026, 1, 1, 10, 0), null, 3L);
+            when(repository.findResponseById(1L)).thenReturn(Optional.of(stored));
+            when(repository.updateIfVersion(eq(1L), eq(3L), isNull(), isNull(), eq(TaskStatus.DONE), isNull(), any()))
+                    .thenReturn(1);
+
+            TaskResponse result = service.update(1L, 3L, request);
+
+            assertThat(result.status()).isEqualTo(TaskStatus.DONE);
+            assertThat(result.version()).isEqualTo(4L);
+            verify(events).publishEvent(TaskChangedEvent.updated(result, stored));
+        }
+
+        @Test
+        @DisplayName("lanza conflicto si la version no coincide")
+        void throwsConflictWhenVersionMismatch() {
+            when(repository.findResponseById(1L)).thenReturn(Optional.of(new TaskResponse(1L, "Tarea de prueba",
+                    null, TaskStatus.PENDING, Priority.MEDIUM, LocalDateTime.of(2026, 1, 1, 10, 0), null, 4L)));
+
+            assertThatThrownBy(() -> service.update(1L, 3L, request))
+                    .isInstanceOf(TaskVersionConflictException.class);
+            verify(repository, never()).updateIfVersion(any(), any(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("lanza conflicto si otra escritura gana entre la lectura y la actualizacion")
+        void throwsConflictWhenConcurrentWriteWins() {
+            when(repository.findResponseById(1L)).thenReturn(Optional.of(new TaskResponse(1L, "Tarea de prueba",
+                    null, TaskStatus.PENDING, Priority.MEDIUM, LocalDateTime.of(2026, 1, 1, 10, 0), null, 3L)));
+            when(repository.updateIfVersion(eq(1L), eq(3L), any(), any(), any(), any(), any())).thenReturn(0);
+            when(repository.existsById(1L)).thenReturn(true);
+
+            assertThatThrownBy(() -> service.update(1L, 3L, request))
+                    .isInstanceOf(TaskVersionConflictException.class);
+            verifyNoInteractions(events);
+        }
+
+        @Test
+        @DisplayName("lanza excepcion si la tarea no existe")
+        void throwsNotFoundWhenMissing() {
+            when(repository.findResponseById(99L)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.update(99L, 3L, request))
+                    .isInstanceOf(TaskNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("updateAll")
+    class UpdateAll {
+
+        @Test
+        @DisplayName("carga todas las tareas en una consulta y aplica los cambios")
+        void loadsAllAndAppliesChanges() {
+            when(repository.findAllById(List.of(1L))).thenReturn(List.of(sampleTask));
+
+            List<TaskResponse> result = service.updateAll(List.of(
+                    new BatchUpdateTaskRequest.Item(1L, null, null, TaskStatus.DONE, null)));
+
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).status()).isEqualTo(TaskStatus.DONE);
+            assertThat(result.get(0).title()).isEqualTo("Tarea de prueba");
+            verify(repository).flush();
+        }
+
+        @Test
+        @DisplayName("lanza excepcion si alguna tarea no existe")
+        void throwsWhenAnyNotFound() {
+            when(repository.findAllById(List.of(1L, 99L))).thenReturn(List.of(sampleTask));
+
+            assertThatThrownBy(() -> service.updateAll(List.of(
+                    new BatchUpdateTaskRequest.Item(1L, "A", null, null, null),
+                    new BatchUpdateTaskRequest.Item(99L, "B", null, null, null))))
+                    .isInstanceOf(TaskNotFoundException.class)
+                    .hasMessageContaining("99");
+        }
+    }
+
     @Nested
     @DisplayName("delete")
     class Delete {
 
         @Test
-        @DisplayName("elimina tarea existente")
+        @DisplayName("borra la fila y publica el estado que devuelve el borrado")
         void deletesExistingTask() {
-            when(repository.existsById(1L)).thenReturn(true);
+            when(jdbcRepository.deleteReturning(eq(List.of(1L)), any())).thenReturn(List.of(TaskResponse.from(sampleTask)));
 
             service.delete(1L);
 
-            verify(repository).deleteById(1L);
+            verify(cache).invalidate(1L);
+            verify(events).publishEvent(TaskChangedEvent.deleted(1L, TaskResponse.from(sampleTask)));
+            verifyNoInteractions(repository, tombstoneRepository);
         }
 
         @Test
         @DisplayName("lanza excepcion si tarea no existe")
         void throwsWhenNotExists() {
-            when(repository.existsById(99L)).thenReturn(false);
+            when(jdbcRepository.deleteReturning(eq(List.of(99L)), any())).thenReturn(List.of());
 
             assertThatThrownBy(() -> service.delete(99L))
                     .isInstanceOf(TaskNotFoundException.class);
+            verifyNoInteractions(events, cache);
+        }
+
+        @Test
+        @DisplayName("borra por filtro sin cargar filas")
+        void deletesMatchingFilter() {
+            when(repository.removeByStatus(TaskStatus.DONE)).thenReturn(5);
+
+            int deleted = service.deleteMatching(TaskStatus.DONE, null);
+
+            assertThat(deleted).isEqualTo(5);
+            verify(tombstoneRepository).insertForStatus(eq(TaskStatus.DONE), any());
+            verify(repository, never()).findByStatus(any());
+            verify(cache).invalidateAll();
+            verify(events).publishEvent(TaskChangedEvent.deletedMatching(TaskStatus.DONE, null));
+        }
+
+        @Test
+        @DisplayName("borra un lote y solo notifica los ids que existian")
+        void deletesBatchPublishingOnlyExistingIds() {
+            when(jdbcRepository.deleteReturning(eq(List.of(1L, 99L)), any()))
+                    .thenReturn(List.of(TaskResponse.from(sampleTask)));
+
+            service.deleteAll(List.of(1L, 99L, 1L));
+
+            verify(cache).invalidateAll(List.of(1L));
+            verify(events).publishEvent(TaskChangedEvent.deleted(1L, TaskResponse.from(sampleTask)));
+            verifyNoMoreInteractions(events);
+        }
+
+        @Test
+        @DisplayName("no hace nada si ningun id del lote existe")
+        void ignoresBatchOfMissingIds() {
+            when(jdbcRepository.deleteReturning(eq(List.of(98L, 99L)), any())).thenReturn(List.of());
+
+            service.deleteAll(List.of(98L, 99L));
+
+            verifyNoInteractions(events, cache);
+        }
+
+        @Test
+        @DisplayName("rechaza el borrado masivo sin filtros")
+        void rejectsBulkDeleteWithoutFilters() {
+            assertThatThrownBy(() -> service.deleteMatching(null, null))
+                    .isInstanceOf(IllegalArgumentException.class);
         }
     }
 }
@@ -0,0 +1,160 @@
+package com.cayetanobp.taskmanager.stats;
+
+import com.cayetanobp.taskmanager.dto.TaskChangeSeq;
+import com.cayetanobp.taskmanager.dto.TaskCount;
+import com.cayetanobp.taskmanager.dto.TaskResponse;
+import com.cayetanobp.taskmanager.dto.TaskStats;
+import com.cayetanobp.taskmanager.event.TaskChangedEvent;
+import com.cayetanobp.taskmanager.model.Priority;
+import com.cayetanobp.taskmanager.model.TaskStatus;
+import com.cayetanobp.taskmanager.repository.TaskRepository;
+import com.cayetanobp.taskmanager.repository.TaskTombstoneRepository;
+import com.cayetanobp.taskmanager.service.TaskChangeClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class TaskStatisticsTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 3, 1, 9, 30);
+
+    private TaskRepository repository;
+    private TaskTombstoneRepository tombstoneRepository;
+    private TaskChangeClock changeClock;
+    private TaskStatistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TaskRepository.class);
+        when(repository.countGroupedByStatusAndPriority()).thenReturn(List.of(
+                new TaskCount(TaskStatus.PENDING, Priority.HIGH, 2L)));
+        when(repository.countGroupedByStatusPriorityAndDay()).thenReturn(List.of(
+                new TaskCount(TaskStatus.PENDING, Priority.HIGH, CREATED.toLocalDate(), 2L)));
+        tombstoneRepository = mock(TaskTombstoneRepository.class);
+        changeClock = mock(TaskChangeClock.class);
+        statistics = new TaskStatistics(repository, tombstoneRepository, changeClock, mock(PlatformTransactionManager.class),
+                Duration.ofMinutes(5));
+    }
+
+    private static TaskResponse task(Long id, TaskStatus status, Priority priority) {
+        return new TaskResponse(id, "Tarea " + id, null, status, priority, CREATED, CREATED, 0L);
+    }
+
+    private static long count(TaskStats stats, TaskStatus status, Priority priority) {
+        return stats.counts().stream()
+                .filter(count -> count.status() == status && count.priority() == priority)
+                .mapToLong(TaskCount::count)
+                .sum();
+    }
+
+    @Test
+    @DisplayName("la primera lectura recalcula con GROUP BY")
+    void firstReadReconciles() {
+        TaskStats stats = statistics.snapshot(false);
+
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(stats.counts()).hasSize(TaskStatus.values().length * Priority.values().length);
+        assertThat(count(stats, TaskStatus.PENDING, Priority.HIGH)).isEqualTo(2);
+        assertThat(stats.reconciledAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("aplica altas, cambios y bajas sin consultar la base de datos")
+    void appliesChangesIncrementally() {
+        statistics.reconcile();
+        clearInvocations(repository);
+
+        TaskResponse created = task(3L, TaskStatus.PENDING, Priority.LOW);
+        TaskResponse done = task(3L, TaskStatus.DONE, Priority.LOW);
+        statistics.onTaskChanged(TaskChangedEvent.created(created));
+        statistics.onTaskChanged(TaskChangedEvent.updated(done, created));
+        statistics.onTaskChanged(TaskChangedEvent.deleted(1L, task(1L, TaskStatus.PENDING, Priority.HIGH)));
+
+        TaskStats stats = statistics.snapshot(false);
+        assertThat(stats.total()).isEqualTo(2);
+        assertThat(count(stats, TaskStatus.PENDING, Priority.HIGH)).isEqualTo(1);
+        assertThat(count(stats, TaskStatus.PENDING, Priority.LOW)).isZero();
+        assertThat(count(stats, TaskStatus.DONE, Priority.LOW)).isEqualTo(1);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("agrupa por dia de creacion")
+    void groupsByDay() {
+        statistics.reconcile();
+        statistics.onTaskChanged(TaskChangedEvent.created(task(3L, TaskStatus.PENDING, Priority.HIGH)));
+
+        TaskStats stats = statistics.snapshot(true);
+
+        assertThat(stats.counts()).containsExactly(
+                new TaskCount(TaskStatus.PENDING, Priority.HIGH, LocalDate.of(2026, 3, 1), 3L));
+        assertThat(stats.total()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("recalcula cuando un cambio no trae el estado anterior")
+    void reconcilesWhenPreviousStateIsUnknown() {
+        statistics.reconcile();
+        statistics.reconcileIfNeeded();
+        verify(repository, times(1)).countGroupedByStatusAndPriority();
+
+        statistics.onTaskChanged(TaskChangedEvent.deleted(1L, null));
+        statistics.reconcileIfNeeded();
+
+        verify(repository, times(2)).countGroupedByStatusAndPriority();
+    }
+
+    @Test
+    @DisplayName("aplica los cambios confirmados durante el recalculo despues de la instantanea")
+    void replaysChangesCommittedDuringReconcile() {
+        when(changeClock.committedSeq()).thenReturn(6L);
+        when(repository.countGroupedByStatusPriorityAndDay()).thenAnswer(invocation -> {
+            statistics.onTaskChanged(TaskChangedEvent.created(task(3L, TaskStatus.PENDING, Priority.HIGH)));
+            return List.of(new TaskCount(TaskStatus.PENDING, Priority.HIGH, CREATED.toLocalDate(), 2L));
+        });
+
+        statistics.reconcile();
+
+        assertThat(count(statistics.snapshot(false), TaskStatus.PENDING, Priority.HIGH)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("no cuenta dos veces los cambios que ya incluye la instantanea")
+    void skipsChangesInsideSnapshot() {
+        when(changeClock.committedSeq()).thenReturn(5L);
+        when(repository.findChangeSeqs(Set.of(3L))).thenReturn(List.of(new TaskChangeSeq(3L, 5L)));
+        when(repository.countGroupedByStatusPriorityAndDay()).thenAnswer(invocation -> {
+            statistics.onTaskChanged(TaskChangedEvent.created(task(3L, TaskStatus.PENDING, Priority.HIGH)));
+            return List.of(new TaskCount(TaskStatus.PENDING, Priority.HIGH, CREATED.toLocalDate(), 2L));
+        });
+
+        statistics.reconcile();
+
+        assertThat(count(statistics.snapshot(false), TaskStatus.PENDING, Priority.HIGH)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("un borrado cuya marca ya esta en la instantanea no se descuenta otra vez")
+    void skipsDeletesInsideSnapshot() {
+        when(changeClock.committedSeq()).thenReturn(7L);
+        when(tombstoneRepository.findChangeSeqs(Set.of(1L))).thenReturn(List.of(new TaskChangeSeq(1L, 7L)));
+        when(repository.countGroupedByStatusPriorityAndDay()).thenAnswer(invocation -> {
+            statistics.onTaskChanged(TaskChangedEvent.deleted(1L, task(1L, TaskStatus.PENDING, Priority.HIGH)));
+            return List.of(new TaskCount(TaskStatus.PENDING, Priority.HIGH, CREATED.toLocalDate(), 2L));
+        });
+
+        statistics.reconcile();
+
+        assertThat(count(statistics.snapshot(false), TaskStatus.PENDING, Priority.HIGH)).isEqualTo(2);
+    }
+}